@@ -0,0 +1,62 @@
+package com.wangguangwu.axflow.benchmark;
+
+import com.wangguangwu.axflow.context.TenantContext;
+import com.wangguangwu.axflow.registry.AxFlowSubtypeRegistry;
+import com.wangguangwu.axflow.web.AxFlowArgumentResolver;
+import com.wangguangwu.axflow.web.TenantInterceptor;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.MethodParameter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 完整的 {@link AxFlowArgumentResolver#resolveArgument} 路径：读 Body → ACL → 路由 → 反序列化 → 校验。
+ * <p>tenantCount 控制路由表规模（合成租户），请求始终来自白名单内的 TenantA/TenantB。</p>
+ *
+ * @author wangguangwu
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ArgumentResolverBenchmark {
+
+    @Param({"TenantA", "TenantB"})
+    public String tenant;
+
+    @Param({"small", "large"})
+    public String payloadSize;
+
+    @Param({"2", "5000"})
+    public int tenantCount;
+
+    private AxFlowArgumentResolver resolver;
+    private MethodParameter parameter;
+    private byte[] body;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var ctx = BenchmarkSupport.context();
+        // 登记是幂等的：已存在的相同映射不会产生新快照
+        BenchmarkSupport.registerSyntheticTenants(ctx.getBean(AxFlowSubtypeRegistry.class), tenantCount - 2);
+        resolver = ctx.getBean(AxFlowArgumentResolver.class);
+        parameter = BenchmarkSupport.submitPaymentParameter();
+        body = BenchmarkSupport.payload(tenant, BenchmarkSupport.extraItems(payloadSize));
+        TenantContext.setTenantId(tenant);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Benchmark
+    public Object resolveArgument() throws Exception {
+        MockHttpServletRequest req = new MockHttpServletRequest("POST", "/payment/submit");
+        req.setContentType("application/json");
+        req.addHeader(TenantInterceptor.HEADER_TENANT, tenant);
+        req.setContent(body);
+        return resolver.resolveArgument(parameter, null, new ServletWebRequest(req), null);
+    }
+}
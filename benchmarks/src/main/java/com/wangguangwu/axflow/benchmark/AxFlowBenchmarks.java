@@ -0,0 +1,37 @@
+package com.wangguangwu.axflow.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * 基准入口：默认开启 GC/分配 profiler（{@code -prof gc}），便于同时观察耗时与每次操作的分配字节数。
+ *
+ * <pre>{@code
+ * mvn -q -f benchmarks/pom.xml package exec:exec -Dbench.include=BinderFactoryBenchmark
+ * }</pre>
+ *
+ * @author wangguangwu
+ */
+public final class AxFlowBenchmarks {
+
+    private AxFlowBenchmarks() {
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : ".*";
+        Options options = new OptionsBuilder()
+                .include(AxFlowBenchmarks.class.getPackageName() + "\\..*(" + include + ").*")
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .build();
+        new Runner(options).run();
+    }
+}
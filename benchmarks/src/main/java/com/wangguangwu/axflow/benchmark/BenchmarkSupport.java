@@ -0,0 +1,122 @@
+package com.wangguangwu.axflow.benchmark;
+
+import com.wangguangwu.axflow.AxFlowTenantRouterApplication;
+import com.wangguangwu.axflow.registry.AxFlowSubtypeRegistry;
+import com.wangguangwu.axflow.sample.controller.PaymentController;
+import com.wangguangwu.axflow.sample.model.AliPayRequest;
+import com.wangguangwu.axflow.sample.model.PaymentRequest;
+import com.wangguangwu.axflow.sample.model.WeChatPayRequest;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.MethodParameter;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 基准公共设施：共享的 Spring 容器、合成租户、真实形态的 AliPay/WeChat 报文。
+ *
+ * @author wangguangwu
+ */
+final class BenchmarkSupport {
+
+    /**
+     * 用于模拟大租户规模的合成租户前缀
+     */
+    static final String SYNTHETIC_TENANT = "BenchTenant";
+
+    private static volatile ConfigurableApplicationContext context;
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * 非 Web 模式启动的完整容器（每个 fork 的 JVM 只启动一次）。
+     */
+    static ConfigurableApplicationContext context() {
+        if (context == null) {
+            synchronized (BenchmarkSupport.class) {
+                if (context == null) {
+                    context = new SpringApplicationBuilder(AxFlowTenantRouterApplication.class)
+                            .web(WebApplicationType.NONE)
+                            .logStartupInfo(false)
+                            .run("--spring.main.banner-mode=off", "--logging.level.root=WARN");
+                }
+            }
+        }
+        return context;
+    }
+
+    /**
+     * 追加合成租户，交替映射到 AliPay / WeChat 子类，使路由表达到目标规模。
+     */
+    static void registerSyntheticTenants(AxFlowSubtypeRegistry registry, int count) {
+        for (int i = 0; i < count; i++) {
+            registry.register(PaymentRequest.class, syntheticTenant(i),
+                    (i & 1) == 0 ? AliPayRequest.class : WeChatPayRequest.class);
+        }
+    }
+
+    static String syntheticTenant(int i) {
+        return SYNTHETIC_TENANT + "%05d".formatted(i);
+    }
+
+    /**
+     * {@code PaymentController#submitPayment} 的请求体参数（白名单 TenantA/TenantB）。
+     */
+    static MethodParameter submitPaymentParameter() {
+        try {
+            return new MethodParameter(
+                    PaymentController.class.getMethod("submitPayment", PaymentRequest.class), 0);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 按租户生成合法报文；extraItems 追加未映射的明细字段以放大报文（反序列化时被跳过）。
+     */
+    static byte[] payload(String tenant, int extraItems) {
+        StringBuilder sb = new StringBuilder(128 + extraItems * 64);
+        if ("TenantB".equals(tenant)) {
+            sb.append("{\"amount\":\"200.00\",\"mchId\":\"W-MCH-001\",\"appId\":\"W-APP-001\"");
+        } else {
+            sb.append("{\"amount\":\"100.00\",\"sellerId\":\"A-SELLER-001\",\"appId\":\"A-APP-001\"");
+        }
+        if (extraItems > 0) {
+            sb.append(",\"items\":[");
+            for (int i = 0; i < extraItems; i++) {
+                if (i > 0) {
+                    sb.append(',');
+                }
+                sb.append("{\"sku\":\"SKU-").append(i)
+                        .append("\",\"qty\":").append(i % 5 + 1)
+                        .append(",\"price\":\"").append(9 + i % 90).append(".99\"}");
+            }
+            sb.append(']');
+        }
+        return sb.append('}').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 按租户生成违反业务规则的报文（前缀错误）。
+     */
+    static byte[] invalidPayload(String tenant) {
+        String json = "TenantB".equals(tenant)
+                ? "{\"amount\":\"200.00\",\"mchId\":\"X-MCH-001\",\"appId\":\"W-APP-001\"}"
+                : "{\"amount\":\"100.00\",\"sellerId\":\"X-SELLER-001\",\"appId\":\"A-APP-001\"}";
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 报文规模参数 → 明细条数。
+     */
+    static int extraItems(String payloadSize) {
+        return switch (payloadSize) {
+            case "small" -> 0;
+            case "medium" -> 32;
+            case "large" -> 512;
+            default -> throw new IllegalArgumentException("unknown payloadSize: " + payloadSize);
+        };
+    }
+}
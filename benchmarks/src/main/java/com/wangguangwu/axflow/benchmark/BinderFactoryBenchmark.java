@@ -0,0 +1,54 @@
+package com.wangguangwu.axflow.benchmark;
+
+import com.wangguangwu.axflow.binding.AxFlowBinder;
+import com.wangguangwu.axflow.binding.AxFlowBinderFactory;
+import com.wangguangwu.axflow.context.TenantContext;
+import com.wangguangwu.axflow.sample.model.PaymentRequest;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AxFlowBinderFactory#bind}：缓冲绑定 vs 流式绑定，按租户与报文规模变化。
+ *
+ * @author wangguangwu
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BinderFactoryBenchmark {
+
+    @Param({"TenantA", "TenantB"})
+    public String tenant;
+
+    @Param({"small", "medium", "large"})
+    public String payloadSize;
+
+    private AxFlowBinderFactory factory;
+    private AxFlowBinder binder;
+    private byte[] body;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        factory = BenchmarkSupport.context().getBean(AxFlowBinderFactory.class);
+        binder = factory.resolveBinder(PaymentRequest.class);
+        body = BenchmarkSupport.payload(tenant, BenchmarkSupport.extraItems(payloadSize));
+        TenantContext.setTenantId(tenant);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Benchmark
+    public Object bindBuffered() {
+        return factory.bind(binder, body, PaymentRequest.class).value();
+    }
+
+    @Benchmark
+    public Object bindStream() {
+        return factory.bind(binder, new ByteArrayInputStream(body), PaymentRequest.class).value();
+    }
+}
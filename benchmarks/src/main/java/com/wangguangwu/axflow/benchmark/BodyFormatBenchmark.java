@@ -0,0 +1,63 @@
+package com.wangguangwu.axflow.benchmark;
+
+import com.wangguangwu.axflow.binding.AxFlowBinder;
+import com.wangguangwu.axflow.binding.AxFlowBinderFactory;
+import com.wangguangwu.axflow.binding.AxFlowBodyFormat;
+import com.wangguangwu.axflow.binding.AxFlowBodyFormats;
+import com.wangguangwu.axflow.context.TenantContext;
+import com.wangguangwu.axflow.sample.model.PaymentRequest;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AxFlowBinderFactory#bind} 按请求体格式对比：同一报文分别编码为 JSON / Smile / CBOR，
+ * 走相同的 Binder 与路由，只有解析器不同。报文字节数见 Setup 打印的 {@code [bytes]} 行。
+ *
+ * @author wangguangwu
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BodyFormatBenchmark {
+
+    @Param({"JSON", "SMILE", "CBOR"})
+    public AxFlowBodyFormat format;
+
+    @Param({"small", "medium", "large"})
+    public String payloadSize;
+
+    private AxFlowBinderFactory factory;
+    private AxFlowBinder binder;
+    private byte[] body;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        factory = BenchmarkSupport.context().getBean(AxFlowBinderFactory.class);
+        AxFlowBodyFormats formats = BenchmarkSupport.context().getBean(AxFlowBodyFormats.class);
+        binder = factory.resolveBinder(PaymentRequest.class);
+        byte[] json = BenchmarkSupport.payload("TenantA", BenchmarkSupport.extraItems(payloadSize));
+        body = format == AxFlowBodyFormat.JSON
+                ? json
+                : formats.mapper(format).writeValueAsBytes(formats.mapper(AxFlowBodyFormat.JSON).readTree(json));
+        System.out.printf("[bytes] format=%s, payloadSize=%s, bytes=%d%n", format, payloadSize, body.length);
+        TenantContext.setTenantId("TenantA");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Benchmark
+    public Object bindBuffered() {
+        return factory.bind(binder, format, body, PaymentRequest.class).value();
+    }
+
+    @Benchmark
+    public Object bindStream() {
+        return factory.bind(binder, format, new ByteArrayInputStream(body), PaymentRequest.class).value();
+    }
+}
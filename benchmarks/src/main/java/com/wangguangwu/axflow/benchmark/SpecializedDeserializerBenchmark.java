@@ -0,0 +1,50 @@
+package com.wangguangwu.axflow.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.wangguangwu.axflow.binding.AxFlowBodyFormat;
+import com.wangguangwu.axflow.binding.AxFlowBodyFormats;
+import com.wangguangwu.axflow.sample.model.AliPayRequest;
+import com.wangguangwu.axflow.sample.model.WeChatPayRequest;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 路由子类的反序列化：反射实现 vs 专用反序列化器（{@code axflow.binding.specialized-deserializers}）。
+ * 两组 {@link AxFlowBodyFormats} 基于容器中同一个 JSON ObjectMapper，只差 Blackbird 模块。
+ *
+ * @author wangguangwu
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SpecializedDeserializerBenchmark {
+
+    @Param({"false", "true"})
+    public boolean specialized;
+
+    @Param({"TenantA", "TenantB"})
+    public String tenant;
+
+    @Param({"small", "medium"})
+    public String payloadSize;
+
+    private ObjectReader reader;
+    private byte[] body;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ObjectMapper json = BenchmarkSupport.context().getBean(ObjectMapper.class);
+        AxFlowBodyFormats formats = new AxFlowBodyFormats(json, specialized);
+        Class<?> subtype = "TenantB".equals(tenant) ? WeChatPayRequest.class : AliPayRequest.class;
+        reader = formats.readerFor(AxFlowBodyFormat.JSON, subtype);
+        body = BenchmarkSupport.payload(tenant, BenchmarkSupport.extraItems(payloadSize));
+    }
+
+    @Benchmark
+    public Object deserialize() throws IOException {
+        return reader.readValue(body);
+    }
+}
@@ -0,0 +1,63 @@
+package com.wangguangwu.axflow.benchmark;
+
+import com.wangguangwu.axflow.context.TenantId;
+import com.wangguangwu.axflow.registry.AxFlowSubtypeRegistry;
+import com.wangguangwu.axflow.sample.model.PaymentRequest;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AxFlowSubtypeRegistry} 路由解析：按租户序号寻址 vs 按字符串解析，随租户规模变化。
+ *
+ * @author wangguangwu
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SubtypeRegistryBenchmark {
+
+    @Param({"2", "1000", "10000"})
+    public int tenantCount;
+
+    private AxFlowSubtypeRegistry registry;
+    private TenantId[] tenants;
+    private String[] tenantNames;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        registry = new AxFlowSubtypeRegistry("com.wangguangwu.axflow.sample.model",
+                true, false, false, 0, event -> {
+        });
+        registry.init();
+        BenchmarkSupport.registerSyntheticTenants(registry, tenantCount - 2);
+
+        tenantNames = new String[tenantCount];
+        tenants = new TenantId[tenantCount];
+        tenantNames[0] = "TenantA";
+        tenantNames[1] = "TenantB";
+        for (int i = 2; i < tenantCount; i++) {
+            tenantNames[i] = BenchmarkSupport.syntheticTenant(i - 2);
+        }
+        for (int i = 0; i < tenantCount; i++) {
+            tenants[i] = TenantId.of(tenantNames[i]);
+        }
+    }
+
+    private int next() {
+        int i = cursor + 1;
+        cursor = i == tenantCount ? 0 : i;
+        return cursor;
+    }
+
+    @Benchmark
+    public Object routeByTenantId() {
+        return registry.route(PaymentRequest.class, tenants[next()]);
+    }
+
+    @Benchmark
+    public Object resolveByString() {
+        return registry.resolve(PaymentRequest.class, tenantNames[next()]);
+    }
+}
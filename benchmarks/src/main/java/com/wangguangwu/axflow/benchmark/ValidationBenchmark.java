@@ -0,0 +1,59 @@
+package com.wangguangwu.axflow.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wangguangwu.axflow.sample.model.AliPayRequest;
+import com.wangguangwu.axflow.sample.model.WeChatPayRequest;
+import com.wangguangwu.axflow.validation.AxFlowValidationService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.MethodParameter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AxFlowValidationService#validate}：通过（happy path）与失败两条路径。
+ *
+ * @author wangguangwu
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ValidationBenchmark {
+
+    private static final Class<?>[] NO_GROUPS = new Class<?>[0];
+
+    @Param({"TenantA", "TenantB"})
+    public String tenant;
+
+    private AxFlowValidationService validationService;
+    private MethodParameter parameter;
+    private Object valid;
+    private Object invalid;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        var ctx = BenchmarkSupport.context();
+        validationService = ctx.getBean(AxFlowValidationService.class);
+        parameter = BenchmarkSupport.submitPaymentParameter();
+        ObjectMapper mapper = ctx.getBean(ObjectMapper.class);
+        Class<?> type = "TenantB".equals(tenant) ? WeChatPayRequest.class : AliPayRequest.class;
+        valid = mapper.readValue(BenchmarkSupport.payload(tenant, 0), type);
+        invalid = mapper.readValue(BenchmarkSupport.invalidPayload(tenant), type);
+    }
+
+    @Benchmark
+    public Object validateValid() throws Exception {
+        validationService.validate(parameter, valid, NO_GROUPS);
+        return valid;
+    }
+
+    @Benchmark
+    public Object validateInvalid() {
+        try {
+            validationService.validate(parameter, invalid, NO_GROUPS);
+            return null;
+        } catch (Exception e) {
+            return e;
+        }
+    }
+}
@@ -53,4 +53,15 @@ public @interface AxFlow {
      * 请求体是否必填（true 时空体抛 400）。默认 true。
      */
     boolean bodyRequired() default true;
+
+    /**
+     * 是否启用按租户的并发舱壁（限制同一租户同时在途的请求数，配置见 {@code axflow.bulkhead}）。默认 false。
+     */
+    boolean bulkhead() default false;
+
+    /**
+     * 是否启用幂等回放：同一租户以相同幂等键（请求头，缺省为请求体摘要）重复提交时直接回放首次的成功响应，
+     * 并发的重复请求合并为一次执行（配置见 {@code axflow.idempotency}）。默认 false。
+     */
+    boolean idempotent() default false;
 }
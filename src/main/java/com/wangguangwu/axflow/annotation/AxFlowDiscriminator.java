@@ -0,0 +1,47 @@
+package com.wangguangwu.axflow.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * {@code @AxFlowDiscriminator} 标注在业务基类上，声明请求体中用于区分子类的判别字段。
+ * <p>
+ * 同一租户通过同一接口提交多种报文形态时（如按 {@code channel} 区分卡/钱包），
+ * 子类在 {@link AxFlowModel#discriminator()} 中声明各自承接的判别值，
+ * 运行时按 (baseType, tenantId, 判别值) 路由。
+ *
+ * <h3>路由规则</h3>
+ * <ul>
+ *   <li>判别值命中该租户下的子类 → 使用该子类；</li>
+ *   <li>否则（字段缺失/为 null/不是标量，或判别值未登记）→ 回退到该租户未声明判别值的子类；</li>
+ *   <li>仍未命中 → 回退到 baseType。</li>
+ * </ul>
+ *
+ * <h3>使用示例</h3>
+ *
+ * <pre>{@code
+ * @AxFlowDiscriminator("channel")
+ * public class RefundRequest {
+ *     private String channel;
+ * }
+ *
+ * @AxFlowModel(value = {"TenantA", "TenantB"}, discriminator = "card")
+ * public class CardRefundRequest extends RefundRequest { ... }
+ *
+ * @AxFlowModel(value = "TenantA", discriminator = "wallet")
+ * public class WalletRefundRequest extends RefundRequest { ... }
+ * }</pre>
+ * <p>
+ * 判别字段只在请求体顶层查找，以流式方式逐个 token 扫描，找到即停止，不构建 JSON 树。
+ *
+ * @author wangguangwu
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface AxFlowDiscriminator {
+
+    /**
+     * 判别字段名（请求体顶层 JSON 字段）。
+     */
+    String value();
+}
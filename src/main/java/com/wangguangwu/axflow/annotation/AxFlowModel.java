@@ -25,6 +25,11 @@ import java.lang.annotation.*;
  *   - 必填，不允许为空。
  *   - 可以包含多个租户。
  *   - 支持按租户维度进行路由。</li>
+ *
+ *   <li>{@link #discriminator()}：
+ *   声明该模型承接的判别值（可选），基类需标注 {@link AxFlowDiscriminator}。
+ *   - 为空时，该模型是所声明租户的默认子类。
+ *   - 非空时，按 (租户, 判别值) 路由，判别值取自请求体中的判别字段。</li>
  * </ul>
  *
  * <h3>使用示例</h3>
@@ -71,4 +76,10 @@ public @interface AxFlowModel {
      * 未指定时自动推断父类，若无非 Object 父类，则以自己为基类。
      */
     Class<?> base() default Void.class;
+
+    /**
+     * 承接的判别值（可选），与基类 {@link AxFlowDiscriminator} 声明的字段对应。
+     * 为空表示不区分判别值，作为所声明租户的默认子类。
+     */
+    String[] discriminator() default {};
 }
\ No newline at end of file
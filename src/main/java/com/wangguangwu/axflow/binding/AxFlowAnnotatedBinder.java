@@ -1,12 +1,11 @@
 package com.wangguangwu.axflow.binding;
 
 import com.wangguangwu.axflow.context.TenantContext;
+import com.wangguangwu.axflow.context.TenantId;
 import com.wangguangwu.axflow.registry.AxFlowSubtypeRegistry;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
-import java.util.Objects;
-
 /**
  * 基于类型级 @AxFlowModel 的租户感知绑定器：
  * 仅依据租户ID路由子类，不解析报文字段。
@@ -28,14 +27,18 @@ public class AxFlowAnnotatedBinder implements AxFlowBinder {
         return true;
     }
 
+    @Override
+    public BodyMode bodyMode() {
+        return BodyMode.STREAM;
+    }
+
     @Override
     public Target resolveTarget(byte[] rawBody, Class<?> baseType) {
-        String tenant = Objects.toString(TenantContext.getTenantId(), "");
-        var meta = registry.resolve(baseType, tenant);
-        if (meta.isEmpty()) {
+        TenantId tenant = TenantContext.getTenant();
+        var meta = tenant == null ? null : registry.route(baseType, tenant);
+        if (meta == null) {
             return new Target(baseType);
         }
-        var m = meta.get();
-        return new Target(m.subtype());
+        return new Target(meta.subtype());
     }
 }
@@ -1,5 +1,7 @@
 package com.wangguangwu.axflow.binding;
 
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
 /**
  * 绑定器：决定目标子类并在绑定后进行必要的轻量处理。
  *
@@ -12,20 +14,67 @@ public interface AxFlowBinder {
      */
     boolean supportsBaseType(Class<?> baseType);
 
+    /**
+     * 该 Binder 需要的请求体输入形态，默认 {@link BodyMode#BUFFERED}。
+     * <p>不需要窥探报文内容的 Binder 应返回 {@link BodyMode#STREAM}，
+     * 工厂将直接从请求流反序列化，避免整包 byte[] 拷贝。</p>
+     */
+    default BodyMode bodyMode() {
+        return BodyMode.BUFFERED;
+    }
+
     /**
      * 解析得到目标子类类型，并返回该子类是否默认启用校验。
      *
-     * @param rawBody  原始请求体
+     * @param rawBody  原始请求体；{@link BodyMode#STREAM} 模式下恒为 null
      * @param baseType 控制器参数的基类
      */
     Target resolveTarget(byte[] rawBody, Class<?> baseType) throws Exception;
 
+    /**
+     * 按请求体格式决定目标子类：窥探报文内容的 Binder 应覆盖此方法，用对应格式的解析器读取 rawBody；
+     * 默认忽略格式，等同 {@link #resolveTarget(byte[], Class)}。
+     *
+     * @param rawBody  原始请求体；{@link BodyMode#STREAM} 模式下恒为 null
+     * @param format   请求体格式（由 Content-Type 识别）
+     * @param baseType 控制器参数的基类
+     */
+    default Target resolveTarget(byte[] rawBody, AxFlowBodyFormat format, Class<?> baseType) throws Exception {
+        return resolveTarget(rawBody, baseType);
+    }
+
+    /**
+     * 批量绑定时为单个元素决定目标子类：仅 {@link BodyMode#BUFFERED} 的 Binder 会逐元素调用。
+     * <p>element 是该元素的 token 缓冲，可通过 {@link TokenBuffer#asParser()} 多次回放；
+     * 默认按整个请求决定（等同 {@code resolveTarget(null, baseType)}）。</p>
+     *
+     * @param element  单个元素的 token 缓冲
+     * @param baseType 元素的基类
+     */
+    default Target resolveElementTarget(TokenBuffer element, Class<?> baseType) throws Exception {
+        return resolveTarget(null, baseType);
+    }
+
     /**
      * 绑定后轻量处理（归一化/补默认/小派生）。
      */
     default void afterBind(Object value) {
     }
 
+    /**
+     * 请求体输入形态。
+     */
+    enum BodyMode {
+        /**
+         * 不读取原始字节，直接从请求流解析。
+         */
+        STREAM,
+        /**
+         * 先缓冲为 byte[]，供 resolveTarget 窥探后再解析。
+         */
+        BUFFERED
+    }
+
     /**
      * 目标元信息：类型 + 默认是否校验。
      */
@@ -1,19 +1,39 @@
 package com.wangguangwu.axflow.binding;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import jakarta.annotation.Resource;
-import lombok.RequiredArgsConstructor;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.wangguangwu.axflow.metrics.AxFlowMetrics;
+import com.wangguangwu.axflow.registry.AxFlowRegistryChange;
+import com.wangguangwu.axflow.registry.AxFlowSubtypeRegistry;
+import jakarta.annotation.PostConstruct;
 import org.springframework.context.ApplicationContext;
-import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
-import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * 绑定工厂：选择 Binder → 决定目标类型 → 反序列化 → afterBind。
+ * <p>反序列化使用按 (格式, 目标类型) 缓存的 {@link ObjectReader}，启动时从 {@link AxFlowSubtypeRegistry} 预热。</p>
+ * <p>请求体格式由调用方按 Content-Type 识别（{@link AxFlowBodyFormat}）：JSON / Smile / CBOR 共用同一套 Binder、
+ * 路由与校验，只有底层解析器不同；不带格式参数的入口按 JSON 处理。</p>
+ * <p>启用专用反序列化器时，可重读的报文（缓冲请求体、批量元素）因可能源自专用化的错误（而非报文错误）读取失败后用普通 Reader 重读一次，
+ * 重读成功则该类型此后改用普通 Reader（见 {@link AxFlowBodyFormats#fallbackReader}）；流式请求体无法重读，只依赖预热时的试读。</p>
  *
  * @author wangguangwu
  */
@@ -21,62 +41,440 @@ import java.util.List;
 public class AxFlowBinderFactory {
 
     private final ApplicationContext applicationContext;
-    private final MappingJackson2HttpMessageConverter jackson;
+    private final AxFlowBodyFormats formats;
+    private final AxFlowSubtypeRegistry registry;
+    private final AxFlowMetrics metrics;
 
-    public AxFlowBinderFactory(ApplicationContext applicationContext, MappingJackson2HttpMessageConverter jackson) {
+    /**
+     * 启动期构建的 Binder 索引，以及索引外类型的按需选择结果（索引重建时清空）
+     */
+    private volatile BinderIndex binderIndex;
+    private final Map<Class<?>, AxFlowBinder> lateBound = new ConcurrentHashMap<>();
+
+    /**
+     * 按格式（下标为 {@link AxFlowBodyFormat#ordinal()}）、目标类型缓存的 ObjectReader：省去每次请求的根反序列化器查找与类型解析
+     */
+    private final Map<Class<?>, ObjectReader>[] readers;
+    private final LongAdder readerHits = new LongAdder();
+    private final LongAdder readerMisses = new LongAdder();
+
+    public AxFlowBinderFactory(ApplicationContext applicationContext,
+                               AxFlowBodyFormats formats,
+                               AxFlowSubtypeRegistry registry,
+                               AxFlowMetrics metrics) {
         this.applicationContext = applicationContext;
-        this.jackson = jackson;
+        this.formats = formats;
+        this.registry = registry;
+        this.metrics = metrics;
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Map<Class<?>, ObjectReader>[] byFormat = new Map[AxFlowBodyFormat.values().length];
+        for (int i = 0; i < byFormat.length; i++) {
+            byFormat[i] = new ConcurrentHashMap<>();
+        }
+        this.readers = byFormat;
     }
 
-    public Bound bind(byte[] rawBody, Class<?> baseType) {
-        AxFlowBinder binder = resolveBinder(baseType);
-        AxFlowBinder.Target target;
-        try {
-            target = binder.resolveTarget(rawBody, baseType);
-        } catch (Exception e) {
-            throw new IllegalArgumentException("决定目标类型失败: baseType=%s, error=%s"
-                    .formatted(baseType.getSimpleName(), e.getMessage()), e);
+    /**
+     * 启动预热：为注册中心已知的所有基类与子类、每种格式预先构建 ObjectReader（不计入命中/未命中）；
+     * 启用专用反序列化器时，各子类的专用反序列化器也在此生成。
+     */
+    @PostConstruct
+    public void warmUpReaders() {
+        for (AxFlowBodyFormat format : AxFlowBodyFormat.values()) {
+            Map<Class<?>, ObjectReader> cache = readers[format.ordinal()];
+            for (Class<?> type : registry.baseTypes()) {
+                cache.computeIfAbsent(type, t -> formats.readerFor(format, t));
+            }
+            for (Class<?> type : registry.subtypes()) {
+                cache.computeIfAbsent(type, t -> formats.readerFor(format, t));
+            }
         }
+    }
+
+    /**
+     * 路由表运行时变更后，为新增的基类与子类预热 ObjectReader。
+     */
+    @EventListener
+    public void onRegistryChanged(AxFlowRegistryChange change) {
+        for (AxFlowBodyFormat format : AxFlowBodyFormat.values()) {
+            Map<Class<?>, ObjectReader> cache = readers[format.ordinal()];
+            for (AxFlowRegistryChange.Mapping m : change.added()) {
+                cache.computeIfAbsent(m.baseType(), t -> formats.readerFor(format, t));
+                cache.computeIfAbsent(m.subtype(), t -> formats.readerFor(format, t));
+            }
+        }
+    }
 
-        ObjectMapper mapper = jackson.getObjectMapper();
+    /**
+     * ObjectReader 缓存统计（size 为所有格式之和）。
+     */
+    public ReaderCacheStats readerCacheStats() {
+        int size = 0;
+        for (Map<Class<?>, ObjectReader> cache : readers) {
+            size += cache.size();
+        }
+        return new ReaderCacheStats(size, readerHits.sum(), readerMisses.sum());
+    }
+
+    public record ReaderCacheStats(int size, long hits, long misses) {
+    }
+
+    public Bound bind(byte[] rawBody, Class<?> baseType) {
+        return bind(resolveBinder(baseType), rawBody, baseType);
+    }
+
+    /**
+     * 使用预先选定的 Binder 绑定（执行计划已缓存 Binder 时走此入口，跳过 Binder 选择）。
+     */
+    public Bound bind(AxFlowBinder binder, byte[] rawBody, Class<?> baseType) {
+        return bind(binder, AxFlowBodyFormat.JSON, rawBody, baseType);
+    }
+
+    /**
+     * 按指定格式绑定缓冲的请求体。
+     */
+    public Bound bind(AxFlowBinder binder, AxFlowBodyFormat format, byte[] rawBody, Class<?> baseType) {
+        AxFlowBinder.Target target = resolveTarget(binder, format, rawBody, baseType);
+
+        long start = metrics.start();
         final Object value;
         try {
-            value = mapper.readValue(rawBody, target.type());
+            value = read(format, target.type(), r -> r.readValue(rawBody));
         } catch (Exception e) {
-            String raw = new String(rawBody, StandardCharsets.UTF_8);
+            String raw = format.isBinary()
+                    ? "<%s, %d bytes>".formatted(format, rawBody.length)
+                    : new String(rawBody, StandardCharsets.UTF_8);
             throw new IllegalArgumentException("请求体反序列化失败: targetType=%s, error=%s, raw=%s"
                     .formatted(target.type().getSimpleName(), e.getMessage(), raw), e);
         }
 
+        metrics.record(AxFlowMetrics.Stage.DESERIALIZE, baseType, target.type(), start);
+
+        afterBind(binder, value, target);
+        return new Bound(value);
+    }
+
+    /**
+     * 流式绑定：仅适用于 {@link AxFlowBinder.BodyMode#STREAM} 的 Binder，Jackson 直接从请求流解析，
+     * 不再整包拷贝请求体。
+     */
+    public Bound bind(AxFlowBinder binder, InputStream body, Class<?> baseType) {
+        return bind(binder, AxFlowBodyFormat.JSON, body, baseType);
+    }
+
+    /**
+     * 按指定格式流式绑定。
+     */
+    public Bound bind(AxFlowBinder binder, AxFlowBodyFormat format, InputStream body, Class<?> baseType) {
+        AxFlowBinder.Target target = resolveTarget(binder, format, null, baseType);
+
+        long start = metrics.start();
+        final Object value;
         try {
-            binder.afterBind(value);
+            value = readerFor(format, target.type()).readValue(body);
         } catch (Exception e) {
-            throw new IllegalArgumentException("绑定后处理失败: targetType=%s, error=%s"
+            throw new IllegalArgumentException("请求体反序列化失败: targetType=%s, error=%s"
                     .formatted(target.type().getSimpleName(), e.getMessage()), e);
         }
 
+        metrics.record(AxFlowMetrics.Stage.DESERIALIZE, baseType, target.type(), start);
+
+        afterBind(binder, value, target);
         return new Bound(value);
     }
 
     public record Bound(Object value) {
     }
 
-    private AxFlowBinder resolveBinder(Class<?> baseType) {
-        Collection<AxFlowBinder> all = applicationContext.getBeansOfType(AxFlowBinder.class).values();
-        List<AxFlowBinder> candidates = all.stream()
-                .filter(b -> !(b instanceof com.wangguangwu.axflow.binding.AxFlowNoopBinder))
-                .filter(b -> safeSupport(b, baseType))
+    /**
+     * 批量绑定：逐元素读取 JSON 数组，或 NDJSON（以换行/空白分隔的多个顶层 JSON 值），由首个 token 自动判断；
+     * Smile / CBOR 同样支持数组或连续的多个顶层值。
+     * <p>元素按需从流中增量解析，不缓冲整个请求体：{@link AxFlowBinder.BodyMode#STREAM} 的 Binder 只按请求决定一次目标类型；
+     * 其余 Binder 逐元素决定（元素先复制为 token 缓冲，路由窥探与反序列化都在缓冲上回放，文本只解析一次）。</p>
+     */
+    public ElementReader readElements(AxFlowBinder binder, InputStream body, Class<?> baseType) {
+        return readElements(binder, AxFlowBodyFormat.JSON, body, baseType);
+    }
+
+    public ElementReader readElements(AxFlowBinder binder, AxFlowBodyFormat format, InputStream body, Class<?> baseType) {
+        try {
+            return new ElementReader(binder, format, formats.mapper(format).createParser(body), baseType);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("请求体读取失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 元素读取器（非线程安全，随请求使用并关闭）。
+     */
+    public final class ElementReader implements Closeable {
+
+        private final AxFlowBinder binder;
+        private final AxFlowBodyFormat format;
+        private final JsonParser parser;
+        private final Class<?> baseType;
+        private final boolean perElement;
+
+        private AxFlowBinder.Target shared;
+        private boolean started;
+        private boolean array;
+        private boolean done;
+        private int index = -1;
+
+        private ElementReader(AxFlowBinder binder, AxFlowBodyFormat format, JsonParser parser, Class<?> baseType) {
+            this.binder = binder;
+            this.format = format;
+            this.parser = parser;
+            this.baseType = baseType;
+            this.perElement = binder.bodyMode() != AxFlowBinder.BodyMode.STREAM;
+        }
+
+        /**
+         * 读取下一个元素（已路由、反序列化并完成 afterBind）；没有更多元素时返回 null。
+         */
+        public @Nullable Object next() {
+            if (done) {
+                return null;
+            }
+            try {
+                if (advance() == null) {
+                    close();
+                    return null;
+                }
+            } catch (IOException e) {
+                close();
+                throw new IllegalArgumentException("请求体解析失败: index=%d, error=%s"
+                        .formatted(index + 1, e.getMessage()), e);
+            }
+            index++;
+
+            AxFlowBinder.Target target;
+            TokenBuffer element = null;
+            try {
+                if (perElement) {
+                    element = new TokenBuffer(parser);
+                    element.copyCurrentStructure(parser);
+                    target = resolveElementTarget(binder, element, baseType);
+                } else {
+                    if (shared == null) {
+                        shared = resolveTarget(binder, format, null, baseType);
+                    }
+                    target = shared;
+                }
+            } catch (IOException e) {
+                close();
+                throw new IllegalArgumentException("请求体解析失败: index=%d, error=%s"
+                        .formatted(index, e.getMessage()), e);
+            }
+
+            long start = metrics.start();
+            final Object value;
+            try {
+                if (element != null) {
+                    TokenBuffer buffered = element;
+                    value = read(format, target.type(), r -> r.readValue(buffered.asParser(parser.getCodec())));
+                } else {
+                    value = readerFor(format, target.type()).readValue(parser);
+                }
+            } catch (Exception e) {
+                close();
+                throw new IllegalArgumentException("请求体反序列化失败: index=%d, targetType=%s, error=%s"
+                        .formatted(index, target.type().getSimpleName(), e.getMessage()), e);
+            }
+            metrics.record(AxFlowMetrics.Stage.DESERIALIZE, baseType, target.type(), start);
+
+            afterBind(binder, value, target);
+            return value;
+        }
+
+        /**
+         * 最近一次返回的元素下标（从 0 开始）；尚未读取时为 -1。
+         */
+        public int index() {
+            return index;
+        }
+
+        /**
+         * 移动到下一个元素的起始 token；没有更多元素时返回 null。
+         */
+        private JsonToken advance() throws IOException {
+            JsonToken token = parser.nextToken();
+            if (!started) {
+                started = true;
+                if (token == JsonToken.START_ARRAY) {
+                    array = true;
+                    token = parser.nextToken();
+                }
+            }
+            return token == null || (array && token == JsonToken.END_ARRAY) ? null : token;
+        }
+
+        @Override
+        public void close() {
+            done = true;
+            try {
+                parser.close();
+            } catch (IOException ignored) {
+                // 请求流由容器回收
+            }
+        }
+    }
+
+    /**
+     * 为 baseType 选择 Binder：O(1) 查启动期构建的索引；索引外的类型按有序候选列表计算一次后缓存。
+     */
+    public AxFlowBinder resolveBinder(Class<?> baseType) {
+        BinderIndex index = binderIndex;
+        if (index == null) {
+            rebuildBinderIndex();
+            index = binderIndex;
+        }
+        AxFlowBinder binder = index.byBase().get(baseType);
+        if (binder != null) {
+            return binder;
+        }
+        BinderIndex current = index;
+        return lateBound.computeIfAbsent(baseType, t -> select(current, t));
+    }
+
+    /**
+     * 构建不可变的 Binder 索引：一次性获取并排序候选 Binder，为注册中心已知的基类预先选定 Binder；
+     * 同优先级并列在此处直接抛出，使配置错误在启动阶段暴露。
+     * <p>在 {@link ContextRefreshedEvent} 时重建，且先于执行计划编译。</p>
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public synchronized void rebuildBinderIndex() {
+        List<AxFlowBinder> ordered = applicationContext.getBeansOfType(AxFlowBinder.class).values().stream()
+                .filter(b -> !(b instanceof AxFlowNoopBinder))
                 .sorted(Comparator.comparingInt(this::orderOf))
                 .toList();
+        AxFlowBinder fallback = applicationContext.getBean(AxFlowNoopBinder.class);
+
+        BinderIndex partial = new BinderIndex(ordered, fallback, Map.of());
+        Map<Class<?>, AxFlowBinder> byBase = new HashMap<>();
+        for (Class<?> baseType : registry.baseTypes()) {
+            byBase.put(baseType, select(partial, baseType));
+        }
+
+        binderIndex = new BinderIndex(ordered, fallback, Map.copyOf(byBase));
+        lateBound.clear();
+    }
 
-        if (!candidates.isEmpty()) {
-            int top = orderOf(candidates.get(0));
-            if (candidates.size() > 1 && orderOf(candidates.get(1)) == top) {
+    /**
+     * Binder 索引快照。
+     *
+     * @param ordered  按 @Order 排序的候选 Binder（不含兜底）
+     * @param fallback 无候选时的兜底 Binder
+     * @param byBase   启动期已选定的 baseType → Binder
+     */
+    public record BinderIndex(List<AxFlowBinder> ordered,
+                              AxFlowBinder fallback,
+                              Map<Class<?>, AxFlowBinder> byBase) {
+    }
+
+    /**
+     * 取支持 baseType 的最高优先级 Binder；同优先级并列时抛出冲突异常。
+     */
+    private AxFlowBinder select(BinderIndex index, Class<?> baseType) {
+        AxFlowBinder top = null;
+        int topOrder = 0;
+        for (AxFlowBinder b : index.ordered()) {
+            if (!safeSupport(b, baseType)) {
+                continue;
+            }
+            int order = orderOf(b);
+            if (top == null) {
+                top = b;
+                topOrder = order;
+            } else if (order == topOrder) {
                 throw new IllegalStateException("存在多个相同优先级的 Binder: baseType=" + baseType.getSimpleName());
+            } else {
+                break;
+            }
+        }
+        return top != null ? top : index.fallback();
+    }
+
+    /**
+     * 用缓存的 Reader 读取可重读的报文；失败可能源自专用化且该类型使用专用 Reader 时用普通 Reader 重读，
+     * 重读成功则该类型在所有格式下改用普通 Reader，否则抛出原异常。
+     */
+    private Object read(AxFlowBodyFormat format, Class<?> type, Read read) throws IOException {
+        try {
+            return read.from(readerFor(format, type));
+        } catch (IOException | RuntimeException | LinkageError e) {
+            ObjectReader plain = formats.fallbackReader(format, type, e);
+            if (plain == null) {
+                throw e;
+            }
+            Object value;
+            try {
+                value = read.from(plain);
+            } catch (IOException | RuntimeException retry) {
+                throw e;
+            }
+            formats.fallback(type);
+            for (AxFlowBodyFormat f : AxFlowBodyFormat.values()) {
+                readers[f.ordinal()].computeIfPresent(type, (t, r) -> formats.readerFor(f, t));
+            }
+            return value;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Read {
+        Object from(ObjectReader reader) throws IOException;
+    }
+
+    private ObjectReader readerFor(AxFlowBodyFormat format, Class<?> type) {
+        Map<Class<?>, ObjectReader> cache = readers[format.ordinal()];
+        ObjectReader reader = cache.get(type);
+        if (reader != null) {
+            readerHits.increment();
+            return reader;
+        }
+        readerMisses.increment();
+        return cache.computeIfAbsent(type, t -> formats.readerFor(format, t));
+    }
+
+    private AxFlowBinder.Target resolveTarget(AxFlowBinder binder, AxFlowBodyFormat format, byte[] rawBody, Class<?> baseType) {
+        long start = metrics.start();
+        try {
+            AxFlowBinder.Target target = binder.resolveTarget(rawBody, format, baseType);
+            metrics.record(AxFlowMetrics.Stage.ROUTE, baseType, target.type(), start);
+            if (target.type() == baseType) {
+                metrics.routeFallback(baseType);
+            }
+            return target;
+        } catch (Exception e) {
+            throw new IllegalArgumentException("决定目标类型失败: baseType=%s, error=%s"
+                    .formatted(baseType.getSimpleName(), e.getMessage()), e);
+        }
+    }
+
+    private AxFlowBinder.Target resolveElementTarget(AxFlowBinder binder, TokenBuffer element, Class<?> baseType) {
+        long start = metrics.start();
+        try {
+            AxFlowBinder.Target target = binder.resolveElementTarget(element, baseType);
+            metrics.record(AxFlowMetrics.Stage.ROUTE, baseType, target.type(), start);
+            if (target.type() == baseType) {
+                metrics.routeFallback(baseType);
             }
-            return candidates.get(0);
+            return target;
+        } catch (Exception e) {
+            throw new IllegalArgumentException("决定目标类型失败: baseType=%s, error=%s"
+                    .formatted(baseType.getSimpleName(), e.getMessage()), e);
+        }
+    }
+
+    private void afterBind(AxFlowBinder binder, Object value, AxFlowBinder.Target target) {
+        try {
+            binder.afterBind(value);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("绑定后处理失败: targetType=%s, error=%s"
+                    .formatted(target.type().getSimpleName(), e.getMessage()), e);
         }
-        return applicationContext.getBean(com.wangguangwu.axflow.binding.AxFlowNoopBinder.class);
     }
 
     private boolean safeSupport(AxFlowBinder b, Class<?> baseType) {
@@ -88,11 +486,11 @@ public class AxFlowBinderFactory {
     }
 
     private int orderOf(AxFlowBinder b) {
-        var ann = b.getClass().getAnnotation(org.springframework.core.annotation.Order.class);
+        var ann = b.getClass().getAnnotation(Order.class);
         if (ann != null) {
             return ann.value();
         }
-        if (b instanceof org.springframework.core.Ordered o) {
+        if (b instanceof Ordered o) {
             return o.getOrder();
         }
         return Integer.MAX_VALUE;
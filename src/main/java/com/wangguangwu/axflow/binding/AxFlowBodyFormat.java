@@ -0,0 +1,79 @@
+package com.wangguangwu.axflow.binding;
+
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+
+/**
+ * 请求/响应体格式，按 Content-Type 协商；未声明或无法识别的类型一律按 JSON 处理。
+ *
+ * @author wangguangwu
+ */
+public enum AxFlowBodyFormat {
+
+    JSON(MediaType.APPLICATION_JSON, false),
+    SMILE(new MediaType("application", "x-jackson-smile"), true),
+    CBOR(MediaType.APPLICATION_CBOR, true);
+
+    private static final AxFlowBodyFormat[] VALUES = values();
+
+    private final MediaType mediaType;
+    private final boolean binary;
+
+    AxFlowBodyFormat(MediaType mediaType, boolean binary) {
+        this.mediaType = mediaType;
+        this.binary = binary;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    /**
+     * 是否为二进制格式（报错时不回显原文）
+     */
+    public boolean isBinary() {
+        return binary;
+    }
+
+    /**
+     * 按 Content-Type 头识别格式：只比较子类型（忽略大小写与 charset 等参数），不解析为 MediaType 对象。
+     */
+    public static AxFlowBodyFormat of(@Nullable String contentType) {
+        if (contentType == null) {
+            return JSON;
+        }
+        int from = contentType.indexOf('/') + 1;
+        if (from == 0) {
+            return JSON;
+        }
+        int to = contentType.indexOf(';', from);
+        if (to < 0) {
+            to = contentType.length();
+        }
+        while (to > from && contentType.charAt(to - 1) == ' ') {
+            to--;
+        }
+        for (int i = 1; i < VALUES.length; i++) {
+            String sub = VALUES[i].mediaType.getSubtype();
+            if (sub.length() == to - from && contentType.regionMatches(true, from, sub, 0, sub.length())) {
+                return VALUES[i];
+            }
+        }
+        return JSON;
+    }
+
+    /**
+     * 按已解析的媒体类型识别格式。
+     */
+    public static AxFlowBodyFormat of(@Nullable MediaType mediaType) {
+        if (mediaType == null) {
+            return JSON;
+        }
+        for (int i = 1; i < VALUES.length; i++) {
+            if (VALUES[i].mediaType.equalsTypeAndSubtype(mediaType)) {
+                return VALUES[i];
+            }
+        }
+        return JSON;
+    }
+}
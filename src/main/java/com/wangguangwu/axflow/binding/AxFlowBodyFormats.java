@@ -0,0 +1,206 @@
+package com.wangguangwu.axflow.binding;
+
+import com.fasterxml.jackson.core.JacksonException;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.exc.InvalidDefinitionException;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 各 {@link AxFlowBodyFormat} 使用的 ObjectMapper：Smile / CBOR 由 JSON 的 ObjectMapper 复制而来，
+ * 只替换底层的解析/生成工厂，模块、特性与命名策略保持一致，因此同一报文在不同格式下绑定出相同的对象。
+ *
+ * <p>请求绑定（{@link AxFlowBinderFactory}）与判别字段窥探使用 {@link #mapper}，响应写出使用 {@link #writerMapper}；未启用专用反序列化器时两者为同一实例。</p>
+ *
+ * <p>专用反序列化器（{@code axflow.binding.specialized-deserializers=true}，默认关闭）：
+ * 请求绑定改用注册了 Blackbird 模块的副本，Bean 的构造与 setter 调用在反序列化器构建时生成为
+ * LambdaMetafactory 函数，替代反射调用；工厂启动预热时即为每个已登记的子类生成。
+ * 响应写出仍使用原 ObjectMapper。</p>
+ *
+ * <p>安全回退：无法生成的属性由 Blackbird 保留反射实现；此外每个类型首次构建 Reader 时用样例报文试读一次，
+ * 样例由普通 ObjectMapper 读取空对象得到默认实例、再写回 JSON 树，因此覆盖各属性的 setter / 构造调用；
+ * 专用 Reader 失败而普通 Reader 成功时，该类型改用普通 Reader 并记录告警。无法构造样例的类型（如缺少无参构造）
+ * 由 {@link AxFlowBinderFactory} 在绑定失败时用普通 Reader 重试，重试成功即按同样方式回退（见 {@link #fallbackReader}）。</p>
+ *
+ * @author wangguangwu
+ */
+@Slf4j
+@Component
+public class AxFlowBodyFormats {
+
+    private static final ObjectNode EMPTY = JsonNodeFactory.instance.objectNode();
+
+    private final ObjectMapper[] mappers = new ObjectMapper[AxFlowBodyFormat.values().length];
+
+    /**
+     * 未注册 Blackbird 的 ObjectMapper（响应写出与回退用）；与 mappers 相同表示未启用专用反序列化器
+     */
+    private final ObjectMapper[] plainMappers = new ObjectMapper[AxFlowBodyFormat.values().length];
+    private final boolean specialized;
+    private final Set<Class<?>> fallbackTypes = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 启用专用反序列化器时按格式缓存的普通 Reader（试读与绑定时重试用）
+     */
+    private final Map<Class<?>, ObjectReader>[] plainReaders;
+
+    public AxFlowBodyFormats(ObjectMapper json,
+                             @Value("${axflow.binding.specialized-deserializers:false}") boolean specialized) {
+        init(plainMappers, json);
+        if (specialized) {
+            init(mappers, json.copy().registerModule(new BlackbirdModule()));
+        } else {
+            System.arraycopy(plainMappers, 0, mappers, 0, mappers.length);
+        }
+        this.specialized = specialized;
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Map<Class<?>, ObjectReader>[] byFormat = new Map[AxFlowBodyFormat.values().length];
+        for (int i = 0; i < byFormat.length; i++) {
+            byFormat[i] = new ConcurrentHashMap<>();
+        }
+        this.plainReaders = byFormat;
+        log.info("AxFlow 请求体格式: {}, 专用反序列化器: {}",
+                Arrays.toString(AxFlowBodyFormat.values()), specialized ? "Blackbird" : "关闭");
+    }
+
+    private static void init(ObjectMapper[] target, ObjectMapper json) {
+        target[AxFlowBodyFormat.JSON.ordinal()] = json;
+        target[AxFlowBodyFormat.SMILE.ordinal()] = json.copyWith(new SmileFactory());
+        target[AxFlowBodyFormat.CBOR.ordinal()] = json.copyWith(new CBORFactory());
+    }
+
+    /**
+     * 请求绑定使用的 ObjectMapper（启用专用反序列化器时为 Blackbird 副本）。
+     */
+    public ObjectMapper mapper(AxFlowBodyFormat format) {
+        return mappers[format.ordinal()];
+    }
+
+    /**
+     * 响应写出使用的 ObjectMapper（不含 Blackbird）。
+     */
+    public ObjectMapper writerMapper(AxFlowBodyFormat format) {
+        return plainMappers[format.ordinal()];
+    }
+
+    /**
+     * 该格式的底层解析工厂（供 Binder 窥探请求体）。
+     */
+    public JsonFactory factory(AxFlowBodyFormat format) {
+        return mappers[format.ordinal()].getFactory();
+    }
+
+    public boolean specialized() {
+        return specialized;
+    }
+
+    /**
+     * 为目标类型构建 Reader（调用方负责缓存）；启用专用反序列化器时先用样例报文试读验证，失败则回退到普通 Reader。
+     */
+    public ObjectReader readerFor(AxFlowBodyFormat format, Class<?> type) {
+        if (!specialized) {
+            return plainMappers[format.ordinal()].readerFor(type);
+        }
+        if (fallbackTypes.contains(type)) {
+            return plainReader(format, type);
+        }
+        ObjectReader reader = mappers[format.ordinal()].readerFor(type);
+        JsonNode sample = sampleOf(type);
+        if (sample == null || probe(reader, sample)) {
+            // 无法构造样例时保留专用 Reader，由绑定时的重试兜底
+            return reader;
+        }
+        ObjectReader plainReader = plainReader(format, type);
+        if (!probe(plainReader, sample)) {
+            // 普通 Reader 同样无法读回样例：与专用化无关，保留专用 Reader
+            return reader;
+        }
+        fallback(type);
+        return plainReader;
+    }
+
+    /**
+     * 绑定失败后的重试 Reader：该类型当前使用专用 Reader、且失败可能源自专用化时返回（缓存的）普通 Reader，
+     * 否则返回 null。报文本身的错误（语法错误、类型不匹配、缺少字段等）不重试，避免畸形请求被解析两次。
+     * 调用方用它重读同一报文，成功后调用 {@link #fallback} 使该类型此后改用普通 Reader。
+     */
+    public ObjectReader fallbackReader(AxFlowBodyFormat format, Class<?> type, Throwable failure) {
+        if (!specialized || fallbackTypes.contains(type) || !maySpecializationFail(failure)) {
+            return null;
+        }
+        return plainReader(format, type);
+    }
+
+    /**
+     * 可能源自专用化的失败：类型定义错误、链接错误，或非 Jackson 的运行时异常（含被 Jackson 包装的链接错误）。
+     */
+    private static boolean maySpecializationFail(Throwable failure) {
+        if (failure instanceof InvalidDefinitionException || failure instanceof LinkageError) {
+            return true;
+        }
+        if (failure instanceof RuntimeException && !(failure instanceof JacksonException)) {
+            return true;
+        }
+        for (Throwable cause = failure.getCause(); cause != null && cause != failure; cause = cause.getCause()) {
+            if (cause instanceof LinkageError) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private ObjectReader plainReader(AxFlowBodyFormat format, Class<?> type) {
+        return plainReaders[format.ordinal()].computeIfAbsent(type, plainMappers[format.ordinal()]::readerFor);
+    }
+
+    /**
+     * 将类型登记为回退到反射实现；此后 {@link #readerFor} 对该类型返回普通 Reader。
+     */
+    public void fallback(Class<?> type) {
+        if (fallbackTypes.add(type)) {
+            log.warn("专用反序列化器不可用，回退到反射实现: type={}", type.getName());
+        }
+    }
+
+    /**
+     * 回退到反射实现的类型（快照）。
+     */
+    public Set<Class<?>> fallbackTypes() {
+        return Set.copyOf(fallbackTypes);
+    }
+
+    /**
+     * 样例报文：普通 ObjectMapper 从空对象读出的默认实例再写回 JSON 树（各属性取默认值）；无法构造时返回 null。
+     */
+    private JsonNode sampleOf(Class<?> type) {
+        ObjectMapper plain = plainMappers[AxFlowBodyFormat.JSON.ordinal()];
+        try {
+            return plain.valueToTree(plain.readerFor(type).readValue(EMPTY));
+        } catch (Exception | LinkageError e) {
+            return null;
+        }
+    }
+
+    private static boolean probe(ObjectReader reader, JsonNode sample) {
+        try {
+            reader.readValue(sample);
+            return true;
+        } catch (Exception | LinkageError e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.wangguangwu.axflow.binding;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.wangguangwu.axflow.annotation.AxFlowDiscriminator;
+import com.wangguangwu.axflow.context.TenantContext;
+import com.wangguangwu.axflow.context.TenantId;
+import com.wangguangwu.axflow.registry.AxFlowSubtypeRegistry;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 基于报文判别字段的租户感知绑定器：适用于标注了 {@link AxFlowDiscriminator} 的基类，
+ * 按 (baseType, tenantId, 判别值) 路由子类。
+ *
+ * <p>判别值通过流式 token 扫描读取：只遍历请求体顶层字段，非目标字段的对象/数组值整体跳过，
+ * 命中判别字段即停止，不构建 JSON 树、不做数据绑定。判别字段越靠前，扫描越短；
+ * 随后的反序列化仍只对缓冲的请求体做一次完整解析。</p>
+ *
+ * <p>批量绑定时逐元素在 token 缓冲上回放查找，同样不重复解析文本。</p>
+ *
+ * <p>请求体不是 JSON 对象、判别字段缺失或不是标量时视为未携带判别值，
+ * 回退到该租户的默认子类；格式错误留给反序列化阶段统一报错。</p>
+ *
+ * @author wangguangwu
+ */
+@Component
+@Order(50)
+public class AxFlowDiscriminatorBinder implements AxFlowBinder {
+
+    private final AxFlowSubtypeRegistry registry;
+    private final AxFlowBodyFormats formats;
+
+    /**
+     * baseType -> 预编码的判别字段名（供 {@link JsonParser#nextFieldName(com.fasterxml.jackson.core.SerializableString)} 快速比较）
+     */
+    private final Map<Class<?>, SerializedString> fields = new ConcurrentHashMap<>();
+
+    public AxFlowDiscriminatorBinder(AxFlowSubtypeRegistry registry, AxFlowBodyFormats formats) {
+        this.registry = registry;
+        this.formats = formats;
+    }
+
+    @Override
+    public boolean supportsBaseType(Class<?> baseType) {
+        return baseType.isAnnotationPresent(AxFlowDiscriminator.class);
+    }
+
+    @Override
+    public BodyMode bodyMode() {
+        return BodyMode.BUFFERED;
+    }
+
+    @Override
+    public Target resolveTarget(byte[] rawBody, Class<?> baseType) {
+        return resolveTarget(rawBody, AxFlowBodyFormat.JSON, baseType);
+    }
+
+    /**
+     * 用请求体格式对应的解析器窥探判别字段（JSON / Smile / CBOR 的 token 流一致，查找逻辑相同）。
+     */
+    @Override
+    public Target resolveTarget(byte[] rawBody, AxFlowBodyFormat format, Class<?> baseType) {
+        TenantId tenant = TenantContext.getTenant();
+        if (tenant == null) {
+            return new Target(baseType);
+        }
+        if (rawBody == null || rawBody.length == 0) {
+            return route(baseType, tenant, null);
+        }
+        try (JsonParser parser = formats.factory(format).createParser(rawBody)) {
+            return route(baseType, tenant, peek(parser, fieldOf(baseType)));
+        } catch (IOException e) {
+            throw new IllegalStateException("读取判别字段失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 批量绑定：在元素的 token 缓冲上回放查找判别字段，不重新解析文本。
+     */
+    @Override
+    public Target resolveElementTarget(TokenBuffer element, Class<?> baseType) throws IOException {
+        TenantId tenant = TenantContext.getTenant();
+        if (tenant == null) {
+            return new Target(baseType);
+        }
+        try (JsonParser parser = element.asParser()) {
+            return route(baseType, tenant, peek(parser, fieldOf(baseType)));
+        }
+    }
+
+    private Target route(Class<?> baseType, TenantId tenant, @Nullable String discriminator) {
+        var meta = registry.route(baseType, tenant, discriminator);
+        return new Target(meta == null ? baseType : meta.subtype());
+    }
+
+    /**
+     * 在顶层对象中查找判别字段并返回其标量值（去空白）；找不到返回 null。
+     */
+    private @Nullable String peek(JsonParser parser, SerializedString field) throws IOException {
+        try {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (!parser.nextFieldName(field)) {
+                if (parser.currentToken() != JsonToken.FIELD_NAME) {
+                    // 顶层对象结束（或输入截断）仍未找到
+                    return null;
+                }
+                parser.nextToken();
+                parser.skipChildren();
+            }
+            JsonToken value = parser.nextToken();
+            if (value == null || !value.isScalarValue() || value == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            return parser.getText().trim();
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private SerializedString fieldOf(Class<?> baseType) {
+        SerializedString field = fields.get(baseType);
+        if (field != null) {
+            return field;
+        }
+        return fields.computeIfAbsent(baseType, t -> {
+            AxFlowDiscriminator ann = t.getAnnotation(AxFlowDiscriminator.class);
+            if (ann == null || ann.value().isBlank()) {
+                throw new IllegalStateException("@AxFlowDiscriminator 未声明判别字段: " + t.getName());
+            }
+            return new SerializedString(ann.value().trim());
+        });
+    }
+}
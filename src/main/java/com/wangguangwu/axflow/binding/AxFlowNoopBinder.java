@@ -18,6 +18,11 @@ public class AxFlowNoopBinder implements AxFlowBinder {
         return false;
     }
 
+    @Override
+    public BodyMode bodyMode() {
+        return BodyMode.STREAM;
+    }
+
     @Override
     public Target resolveTarget(byte[] rawBody, Class<?> baseType) {
         return new Target(baseType);
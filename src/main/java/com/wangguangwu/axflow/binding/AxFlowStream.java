@@ -0,0 +1,42 @@
+package com.wangguangwu.axflow.binding;
+
+import com.wangguangwu.axflow.validation.AxFlowBatchValidationException;
+import com.wangguangwu.axflow.validation.AxFlowElementError;
+
+import java.util.function.Consumer;
+
+/**
+ * 流式批量参数：{@code @AxFlow} 方法声明 {@code AxFlowStream<Base>} 参数时，元素在处理方法遍历时才从请求体中增量解析，
+ * 每个元素独立路由到租户子类；请求体可以是 JSON 数组或 NDJSON（每行一个 JSON 对象）。
+ *
+ * <p>启用校验时，元素按 {@code axflow.batch.chunk-size} 分块读取并并行校验后再交给处理方法。
+ * 通过 {@link #iterator()}（含 for-each）遍历时，遇到校验失败的分块抛出 {@link AxFlowBatchValidationException}
+ * （该块之前的元素已被处理）；需要跳过失败元素继续处理时使用 {@link #forEach(Consumer, Consumer)}。</p>
+ *
+ * <p>只能遍历一次，且必须在处理方法返回前（请求线程上）完成。</p>
+ *
+ * <pre>{@code
+ * @AxFlow(allowedTenants = {"TenantA"})
+ * @PostMapping(value = "/settle", consumes = "application/x-ndjson")
+ * public ApiResult<?> settle(AxFlowStream<PaymentRequest> payments) {
+ *     List<AxFlowElementError> rejected = new ArrayList<>();
+ *     payments.forEach(this::settleOne, rejected::add);
+ *     return ApiResult.success(rejected);
+ * }
+ * }</pre>
+ *
+ * @param <T> 元素基类
+ * @author wangguangwu
+ */
+public interface AxFlowStream<T> extends Iterable<T> {
+
+    /**
+     * 遍历全部元素：校验通过的交给 onValid，失败的交给 onInvalid，不中断。
+     */
+    void forEach(Consumer<? super T> onValid, Consumer<AxFlowElementError> onInvalid);
+
+    /**
+     * 已读取的元素数（含校验失败的元素）。
+     */
+    int count();
+}
@@ -0,0 +1,50 @@
+package com.wangguangwu.axflow.common;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import org.springframework.lang.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * {@code ApiResult} 信封的字节编码，字段顺序与 ObjectMapper 的输出一致：{@code {"code":..,"message":..,"data":..}}。
+ * <p>
+ * 由 {@link ApiResultHttpMessageConverter} 与租户拒绝的快速路径共用。
+ *
+ * @author wangguangwu
+ */
+public final class ApiResultEnvelopes {
+
+    private static final byte[] NULL_DATA = "null}".getBytes(StandardCharsets.US_ASCII);
+
+    private ApiResultEnvelopes() {
+    }
+
+    /**
+     * data 为 null 的完整响应体：{"code":..,"message":..,"data":null}
+     */
+    public static byte[] body(int code, @Nullable String message) {
+        byte[] prefix = prefix(code, message);
+        byte[] body = Arrays.copyOf(prefix, prefix.length + NULL_DATA.length);
+        System.arraycopy(NULL_DATA, 0, body, prefix.length, NULL_DATA.length);
+        return body;
+    }
+
+    /**
+     * data 之前的前缀：{"code":..,"message":..,"data":
+     */
+    public static byte[] prefix(int code, @Nullable String message) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(48 + (message == null ? 0 : message.length() * 3));
+        out.writeBytes(("{\"code\":" + code + ",\"message\":").getBytes(StandardCharsets.US_ASCII));
+        if (message == null) {
+            out.writeBytes("null".getBytes(StandardCharsets.US_ASCII));
+        } else {
+            out.write('"');
+            out.writeBytes(JsonStringEncoder.getInstance().quoteAsUTF8(message));
+            out.write('"');
+        }
+        out.writeBytes(",\"data\":".getBytes(StandardCharsets.US_ASCII));
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,175 @@
+package com.wangguangwu.axflow.common;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.wangguangwu.axflow.dto.ApiResult;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * {@link ApiResult} 专用的响应写出器（Spring Boot 会把该 Bean 排在默认 Jackson 转换器之前）。
+ *
+ * <ul>
+ *   <li>信封前缀 {@code {"code":..,"message":"..","data":} 直接编码为字节，只有 data 经 Jackson 序列化；</li>
+ *   <li>data 按具体类型缓存 {@link ObjectWriter}，省去每次按类型查找序列化器；</li>
+ *   <li>只有固定的信封启动时预编码：成功响应 {@code (200, "OK")} 的前缀，以及 {@link GlobalExceptionHandler} 中消息固定的错误响应整体
+ *       （租户拒绝由 {@code AxFlowRejections} 直接写出字节，不经过这里）；
+ *       其余消息（校验错误、异常消息等可能回显请求内容）每次按需编码、不缓存，避免外部输入占住内存。</li>
+ * </ul>
+ *
+ * <p>启动时用共享的 ObjectMapper 序列化一个样例比对输出；ObjectMapper 开启了缩进（如 dev 环境）、
+ * 修改了属性命名或空值策略导致输出不一致时自动停用，回退到默认转换器。
+ * 也可通过 {@code axflow.response.preserialized=false} 关闭。</p>
+ *
+ * @author wangguangwu
+ */
+@Slf4j
+@Component
+public class ApiResultHttpMessageConverter extends AbstractHttpMessageConverter<ApiResult<?>> {
+
+    /**
+     * 固定信封的前缀（成功响应）
+     */
+    private static final Map<Envelope, byte[]> PREFIXES = Stream.of(new Envelope(200, "OK"))
+            .collect(Collectors.toUnmodifiableMap(e -> e, e -> ApiResultEnvelopes.prefix(e.code(), e.message())));
+
+    /**
+     * 全局异常处理器中消息固定的错误响应（data 为 null）
+     */
+    private static final Map<Envelope, byte[]> HANDLER_BODIES = Stream.of(
+                    new Envelope(400, GlobalExceptionHandler.EMPTY_BODY_MESSAGE))
+            .collect(Collectors.toUnmodifiableMap(e -> e, e -> ApiResultEnvelopes.body(e.code(), e.message())));
+
+    private final ObjectMapper mapper;
+    private final boolean enabled;
+
+    private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    public ApiResultHttpMessageConverter(ObjectMapper mapper,
+                                         @Value("${axflow.response.preserialized:true}") boolean preserialized) {
+        super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+        this.mapper = mapper;
+        this.enabled = preserialized && selfCheck();
+        log.info("ApiResult 预序列化写出: enabled={}", enabled);
+    }
+
+    private record Envelope(int code, @Nullable String message) {
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    @Override
+    protected boolean supports(@NonNull Class<?> clazz) {
+        return ApiResult.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(@NonNull Class<?> clazz, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(@NonNull Class<?> clazz, @Nullable MediaType mediaType) {
+        return enabled && super.canWrite(clazz, mediaType);
+    }
+
+    @Override
+    protected @NonNull ApiResult<?> readInternal(@NonNull Class<? extends ApiResult<?>> clazz, @NonNull HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("ApiResult 仅用于响应", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(@NonNull ApiResult<?> result, @NonNull HttpOutputMessage outputMessage) throws IOException {
+        write(result, outputMessage.getBody());
+    }
+
+    /**
+     * 序列化为字节（未启用时使用 ObjectMapper，输出与响应一致）。
+     */
+    public byte[] toBytes(ApiResult<?> result) throws IOException {
+        if (!enabled) {
+            return mapper.writeValueAsBytes(result);
+        }
+        if (result.getData() == null) {
+            return bodyOf(new Envelope(result.getCode(), result.getMessage()));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        write(result, out);
+        return out.toByteArray();
+    }
+
+    private void write(ApiResult<?> result, OutputStream out) throws IOException {
+        Envelope envelope = new Envelope(result.getCode(), result.getMessage());
+        Object data = result.getData();
+        if (data == null) {
+            out.write(bodyOf(envelope));
+            return;
+        }
+        out.write(prefixOf(envelope));
+        // 不关闭生成器：关闭会连带关闭响应流，之后还要写出结尾的 '}'
+        JsonGenerator gen = mapper.getFactory().createGenerator(out);
+        writerOf(data.getClass()).writeValue(gen, data);
+        gen.flush();
+        out.write('}');
+    }
+
+    private byte[] prefixOf(Envelope envelope) {
+        byte[] prefix = PREFIXES.get(envelope);
+        return prefix != null ? prefix : ApiResultEnvelopes.prefix(envelope.code(), envelope.message());
+    }
+
+    private byte[] bodyOf(Envelope envelope) {
+        byte[] body = HANDLER_BODIES.get(envelope);
+        return body != null ? body : ApiResultEnvelopes.body(envelope.code(), envelope.message());
+    }
+
+    private ObjectWriter writerOf(Class<?> type) {
+        ObjectWriter writer = writers.get(type);
+        if (writer != null) {
+            return writer;
+        }
+        return writers.computeIfAbsent(type, mapper::writerFor);
+    }
+
+    /**
+     * 与 ObjectMapper 的输出逐字节比对（含 data 为对象与 null 两种情况）。
+     */
+    private boolean selfCheck() {
+        try {
+            ApiResult<?> withData = new ApiResult<>(200, "OK \"检查\"", Map.of("k", 1));
+            ApiResult<?> withoutData = new ApiResult<>(400, null, null);
+            for (ApiResult<?> sample : new ApiResult<?>[]{withData, withoutData}) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                write(sample, out);
+                if (!Arrays.equals(out.toByteArray(), mapper.writeValueAsBytes(sample))) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            return false;
+        } finally {
+            writers.clear();
+        }
+    }
+}
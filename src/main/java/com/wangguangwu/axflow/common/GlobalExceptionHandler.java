@@ -1,15 +1,21 @@
 package com.wangguangwu.axflow.common;
 
 import com.wangguangwu.axflow.dto.ApiResult;
+import com.wangguangwu.axflow.validation.AxFlowBatchValidationException;
+import com.wangguangwu.axflow.validation.AxFlowElementError;
+import com.wangguangwu.axflow.web.AxFlowRejectedException;
+import com.wangguangwu.axflow.web.AxFlowRejections;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.BindException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.util.List;
 import java.util.stream.Collectors;
 
 /**
@@ -23,6 +29,30 @@ import java.util.stream.Collectors;
 @Slf4j
 public class GlobalExceptionHandler {
 
+    /**
+     * 请求体解析失败的消息前缀
+     */
+    public static final String NOT_READABLE_PREFIX = "请求体解析失败: ";
+
+    /**
+     * 请求体为空时的完整消息（消息固定，由 {@link ApiResultHttpMessageConverter} 启动时预编码）
+     */
+    public static final String EMPTY_BODY_MESSAGE = NOT_READABLE_PREFIX + AxFlowRejections.EMPTY_BODY_MESSAGE;
+
+    private final AxFlowRejections rejections;
+
+    public GlobalExceptionHandler(AxFlowRejections rejections) {
+        this.rejections = rejections;
+    }
+
+    /**
+     * 租户被拒绝：写出预序列化的错误体，日志按租户限流采样
+     */
+    @ExceptionHandler(AxFlowRejectedException.class)
+    public ResponseEntity<byte[]> handleRejected(AxFlowRejectedException ex) {
+        return rejections.toResponse(ex);
+    }
+
     /**
      * 参数校验失败（JSR-303，@Valid）
      */
@@ -37,6 +67,15 @@ public class GlobalExceptionHandler {
         return ApiResult.error(400, msg);
     }
 
+    /**
+     * 批量参数校验失败：data 中返回每个失败元素的下标与错误
+     */
+    @ExceptionHandler(AxFlowBatchValidationException.class)
+    public ApiResult<List<AxFlowElementError>> handleBatchValidation(AxFlowBatchValidationException ex) {
+        log.warn("{}", ex.getMessage());
+        return new ApiResult<>(400, ex.getMessage(), ex.getErrors());
+    }
+
     /**
      * 参数绑定失败（普通表单对象绑定）
      */
@@ -69,7 +108,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(HttpMessageNotReadableException.class)
     public ApiResult<?> handleHttpMessageNotReadable(HttpMessageNotReadableException ex) {
         log.warn("请求体解析失败", ex);
-        return ApiResult.error(400, "请求体解析失败: " + ex.getMessage());
+        return ApiResult.error(400, NOT_READABLE_PREFIX + ex.getMessage());
     }
 
     /**
@@ -0,0 +1,141 @@
+package com.wangguangwu.axflow.concurrent;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 执行器工厂：运行在 JDK 21+ 时创建虚拟线程（每任务一线程），否则回退到有界的守护平台线程池。
+ *
+ * <p>工程以 Java 17 编译，虚拟线程 API 通过反射获取，同一份构建可在两种 JDK 上运行。</p>
+ *
+ * <p>回退线程池的等待队列容量为线程数 × {@value #QUEUE_PER_THREAD}；队列满时默认由提交线程直接执行任务
+ * （{@link ThreadPoolExecutor.CallerRunsPolicy}），以此向提交方施加背压，而不是无限堆积。
+ * 任务依赖执行线程的语义（如按超时等待结果）时应指定 {@link ThreadPoolExecutor.AbortPolicy}，自行处理拒绝。</p>
+ *
+ * @author wangguangwu
+ */
+@Slf4j
+public final class AxFlowExecutors {
+
+    private static final Method NEW_VIRTUAL_PER_TASK = lookupVirtualPerTask();
+
+    /**
+     * {@code Thread#isVirtual()}（JDK 21+）；不支持虚拟线程时为 null
+     */
+    private static final MethodHandle IS_VIRTUAL = lookupIsVirtual();
+
+    /**
+     * 回退线程池每个线程对应的队列容量
+     */
+    private static final int QUEUE_PER_THREAD = 64;
+
+    private AxFlowExecutors() {
+    }
+
+    /**
+     * 当前 JDK 是否支持虚拟线程
+     */
+    public static boolean virtualThreadsSupported() {
+        return NEW_VIRTUAL_PER_TASK != null;
+    }
+
+    /**
+     * 当前线程是否为虚拟线程（JDK 17 上恒为 false）。
+     * <p>按线程复用的缓存（ThreadLocal）只应在平台线程上使用：虚拟线程每请求一个，缓存不会被复用，反而每请求分配一次。</p>
+     */
+    public static boolean isVirtualThread() {
+        if (IS_VIRTUAL == null) {
+            return false;
+        }
+        try {
+            return (boolean) IS_VIRTUAL.invokeExact(Thread.currentThread());
+        } catch (Throwable e) {
+            return false;
+        }
+    }
+
+    /**
+     * 每任务一个虚拟线程的执行器；不支持虚拟线程时返回 null。
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        if (NEW_VIRTUAL_PER_TASK == null) {
+            return null;
+        }
+        try {
+            return (ExecutorService) NEW_VIRTUAL_PER_TASK.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("创建虚拟线程执行器失败", e);
+        }
+    }
+
+    /**
+     * 优先使用虚拟线程；不支持时回退到有界的守护平台线程池，队列满时由提交线程执行。
+     *
+     * @param name            线程名前缀（仅平台线程池使用）
+     * @param fallbackThreads 回退线程池的线程数；{@code <= 0} 时取 max(2, CPU 核数)
+     */
+    public static ExecutorService newPerTaskExecutor(String name, int fallbackThreads) {
+        return newPerTaskExecutor(name, fallbackThreads, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * 同 {@link #newPerTaskExecutor(String, int)}，回退线程池队列满时按 rejection 处理。
+     */
+    public static ExecutorService newPerTaskExecutor(String name, int fallbackThreads, RejectedExecutionHandler rejection) {
+        ExecutorService virtual = newVirtualThreadPerTaskExecutor();
+        if (virtual != null) {
+            log.info("{}: 使用虚拟线程", name);
+            return virtual;
+        }
+        int threads = fallbackThreads > 0 ? fallbackThreads : Math.max(2, Runtime.getRuntime().availableProcessors());
+        AtomicInteger seq = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(threads * QUEUE_PER_THREAD), r -> {
+            Thread t = new Thread(r, name + "-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }, rejection);
+        pool.allowCoreThreadTimeOut(true);
+        log.info("{}: 使用平台线程池 threads={}, queue={}（当前 JDK 不支持虚拟线程）", name, threads, threads * QUEUE_PER_THREAD);
+        return pool;
+    }
+
+    /**
+     * 包装为传播租户上下文的执行器。
+     */
+    public static ExecutorService tenantAware(ExecutorService delegate) {
+        return delegate instanceof TenantAwareExecutorService ? delegate : new TenantAwareExecutorService(delegate);
+    }
+
+    /**
+     * 包装为传播租户上下文的执行器。
+     */
+    public static Executor tenantAware(Executor delegate) {
+        if (delegate instanceof ExecutorService es) {
+            return tenantAware(es);
+        }
+        return command -> delegate.execute(TenantPropagation.wrap(command));
+    }
+
+    private static MethodHandle lookupIsVirtual() {
+        try {
+            return MethodHandles.publicLookup().findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private static Method lookupVirtualPerTask() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
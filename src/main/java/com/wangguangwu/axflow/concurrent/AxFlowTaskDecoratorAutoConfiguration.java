@@ -0,0 +1,27 @@
+package com.wangguangwu.axflow.concurrent;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * 注册 {@link TenantTaskDecorator}：Spring Boot 会将唯一的 TaskDecorator 应用到自动配置的
+ * {@code applicationTaskExecutor}，{@code @Async} 任务因此继承提交线程的租户。
+ *
+ * <p>以自动配置注册（{@code META-INF/spring/...AutoConfiguration.imports}），条件在全部用户 Bean 注册之后判断：
+ * 应用自定义 TaskDecorator 时本 Bean 退让，不会出现两个 TaskDecorator 导致 Boot 一个都不应用的情况；
+ * 此时需由应用自行保证租户传播（可委托 {@link TenantPropagation#wrap}）。</p>
+ *
+ * @author wangguangwu
+ */
+@AutoConfiguration(before = TaskExecutionAutoConfiguration.class)
+public class AxFlowTaskDecoratorAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean(TaskDecorator.class)
+    public TaskDecorator tenantTaskDecorator() {
+        return new TenantTaskDecorator();
+    }
+}
@@ -0,0 +1,84 @@
+package com.wangguangwu.axflow.concurrent;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 虚拟线程模式与租户上下文传播。
+ *
+ * <ul>
+ *   <li>{@link TenantTaskDecorator} 由自动配置 {@link AxFlowTaskDecoratorAutoConfiguration} 注册
+ *       （在全部用户 Bean 之后判断，应用自定义 TaskDecorator 时退让）；</li>
+ *   <li>{@code axflow.virtual-threads.enabled=true} 时：Tomcat 请求处理改为每请求一个虚拟线程（JDK 21+），
+ *       并以传播租户的执行器（虚拟线程，JDK 17 上回退到有界平台线程池）替换 {@code applicationTaskExecutor}，
+ *       以 {@link AsyncTaskExecutor} 暴露（与 Boot 自动配置的类型一致），
+ *       同时登记别名 {@code taskExecutor} 供 {@code @Async} 默认查找。</li>
+ * </ul>
+ *
+ * <p>业务代码自建的执行器可用 {@link AxFlowExecutors#tenantAware} 包装，
+ * 单个任务可用 {@link TenantPropagation#wrap} 包装（如 {@code CompletableFuture.supplyAsync}）。</p>
+ *
+ * @author wangguangwu
+ */
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+public class AxFlowVirtualThreadConfig {
+
+    /**
+     * 传播租户上下文的应用任务执行器（虚拟线程优先）；同名 Bean 存在时 Boot 自动配置的执行器自动退让
+     */
+    @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+    @ConditionalOnProperty(name = "axflow.virtual-threads.enabled", havingValue = "true")
+    public AsyncTaskExecutor applicationTaskExecutor(@Value("${axflow.virtual-threads.fallback-threads:0}") int fallbackThreads) {
+        return new ShutdownTaskExecutorAdapter(
+                AxFlowExecutors.tenantAware(AxFlowExecutors.newPerTaskExecutor("axflow-task", fallbackThreads)));
+    }
+
+    /**
+     * 容器关闭时一并关闭底层执行器的 {@link TaskExecutorAdapter}
+     */
+    private static final class ShutdownTaskExecutorAdapter extends TaskExecutorAdapter implements DisposableBean {
+
+        private final ExecutorService executor;
+
+        private ShutdownTaskExecutorAdapter(ExecutorService executor) {
+            super(executor);
+            this.executor = executor;
+        }
+
+        @Override
+        public void destroy() {
+            executor.shutdown();
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "org.apache.catalina.startup.Tomcat")
+    @ConditionalOnProperty(name = "axflow.virtual-threads.enabled", havingValue = "true")
+    static class TomcatVirtualThreads {
+
+        @Bean
+        public TomcatProtocolHandlerCustomizer<ProtocolHandler> axflowVirtualThreadProtocolHandlerCustomizer() {
+            return protocolHandler -> {
+                ExecutorService executor = AxFlowExecutors.newVirtualThreadPerTaskExecutor();
+                if (executor == null) {
+                    log.warn("axflow.virtual-threads.enabled=true，但当前 JDK 不支持虚拟线程，Tomcat 保持平台线程池");
+                    return;
+                }
+                protocolHandler.setExecutor(executor);
+                log.info("Tomcat 请求处理使用虚拟线程");
+            };
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.wangguangwu.axflow.concurrent;
+
+import org.springframework.lang.NonNull;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 传播租户上下文的 {@link ExecutorService} 包装：所有任务（execute / submit / invokeAll / invokeAny）
+ * 都在提交时捕获租户，在执行线程上恢复；生命周期方法委托给底层执行器。
+ *
+ * @author wangguangwu
+ */
+public class TenantAwareExecutorService extends AbstractExecutorService {
+
+    private final ExecutorService delegate;
+
+    public TenantAwareExecutorService(ExecutorService delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void execute(@NonNull Runnable command) {
+        delegate.execute(TenantPropagation.wrap(command));
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public @NonNull List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, @NonNull TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+}
@@ -0,0 +1,56 @@
+package com.wangguangwu.axflow.concurrent;
+
+import com.wangguangwu.axflow.context.TenantContext;
+import com.wangguangwu.axflow.context.TenantId;
+
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * 租户上下文的跨线程传播：在提交任务时捕获当前 {@link TenantContext}，在执行线程上恢复，执行完毕后还原。
+ *
+ * <p>捕获的只是驻留 {@link TenantId} 的引用；当前线程没有租户时原样返回任务，不做任何包装。</p>
+ *
+ * @author wangguangwu
+ */
+public final class TenantPropagation {
+
+    private TenantPropagation() {
+    }
+
+    public static Runnable wrap(Runnable task) {
+        TenantId tenant = TenantContext.getTenant();
+        if (tenant == null) {
+            return task;
+        }
+        return () -> TenantContext.runWith(tenant, task);
+    }
+
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        TenantId tenant = TenantContext.getTenant();
+        if (tenant == null) {
+            return task;
+        }
+        return () -> {
+            TenantId previous = TenantContext.getTenant();
+            TenantContext.setTenant(tenant);
+            try {
+                return task.call();
+            } finally {
+                if (previous == null) {
+                    TenantContext.clear();
+                } else {
+                    TenantContext.setTenant(previous);
+                }
+            }
+        };
+    }
+
+    public static <T> Supplier<T> wrap(Supplier<T> task) {
+        TenantId tenant = TenantContext.getTenant();
+        if (tenant == null) {
+            return task;
+        }
+        return () -> TenantContext.callWith(tenant, task);
+    }
+}
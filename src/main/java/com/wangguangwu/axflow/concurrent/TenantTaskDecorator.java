@@ -0,0 +1,17 @@
+package com.wangguangwu.axflow.concurrent;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.lang.NonNull;
+
+/**
+ * 将提交线程的租户传播到 Spring 任务执行器（{@code @Async}、ThreadPoolTaskExecutor 等）。
+ *
+ * @author wangguangwu
+ */
+public class TenantTaskDecorator implements TaskDecorator {
+
+    @Override
+    public @NonNull Runnable decorate(@NonNull Runnable runnable) {
+        return TenantPropagation.wrap(runnable);
+    }
+}
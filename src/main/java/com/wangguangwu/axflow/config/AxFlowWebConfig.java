@@ -1,8 +1,16 @@
 package com.wangguangwu.axflow.config;
 
+import com.wangguangwu.axflow.binding.AxFlowBodyFormat;
+import com.wangguangwu.axflow.binding.AxFlowBodyFormats;
+import com.wangguangwu.axflow.web.AxFlowAdaptiveLimitInterceptor;
 import com.wangguangwu.axflow.web.AxFlowArgumentResolver;
+import com.wangguangwu.axflow.web.AxFlowBulkheadInterceptor;
+import com.wangguangwu.axflow.web.AxFlowIdempotencyInterceptor;
 import com.wangguangwu.axflow.web.TenantInterceptor;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -10,7 +18,10 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import java.util.List;
 
 /**
- * MVC 配置：注册 {@link AxFlowArgumentResolver}。
+ * MVC 配置：注册租户/幂等/过载/舱壁拦截器与 {@link AxFlowArgumentResolver}。
+ *
+ * <p>Smile / CBOR 响应转换器改用 {@link AxFlowBodyFormats} 的 ObjectMapper（与请求绑定同源、沿用 JSON 的配置），
+ * 替换 Spring MVC 默认创建的同类转换器，响应格式按 Accept 协商。</p>
  *
  * @author wangguangwu
  */
@@ -18,16 +29,41 @@ import java.util.List;
 public class AxFlowWebConfig implements WebMvcConfigurer {
 
     private final TenantInterceptor tenantInterceptor;
+    private final AxFlowIdempotencyInterceptor idempotencyInterceptor;
+    private final AxFlowAdaptiveLimitInterceptor adaptiveLimitInterceptor;
+    private final AxFlowBulkheadInterceptor bulkheadInterceptor;
     private final AxFlowArgumentResolver axFlowArgumentResolver;
 
-    public AxFlowWebConfig(TenantInterceptor tenantInterceptor, AxFlowArgumentResolver axFlowArgumentResolver) {
+    public AxFlowWebConfig(TenantInterceptor tenantInterceptor,
+                           AxFlowIdempotencyInterceptor idempotencyInterceptor,
+                           AxFlowAdaptiveLimitInterceptor adaptiveLimitInterceptor,
+                           AxFlowBulkheadInterceptor bulkheadInterceptor,
+                           AxFlowArgumentResolver axFlowArgumentResolver) {
         this.tenantInterceptor = tenantInterceptor;
+        this.idempotencyInterceptor = idempotencyInterceptor;
+        this.adaptiveLimitInterceptor = adaptiveLimitInterceptor;
+        this.bulkheadInterceptor = bulkheadInterceptor;
         this.axFlowArgumentResolver = axFlowArgumentResolver;
     }
 
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(AxFlowBodyFormats formats) {
+        return new MappingJackson2SmileHttpMessageConverter(formats.writerMapper(AxFlowBodyFormat.SMILE));
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(AxFlowBodyFormats formats) {
+        return new MappingJackson2CborHttpMessageConverter(formats.writerMapper(AxFlowBodyFormat.CBOR));
+    }
+
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
         registry.addInterceptor(tenantInterceptor).addPathPatterns("/**");
+        // 以下依赖 TenantInterceptor 写入的 TenantContext，必须在其后；
+        // 幂等回放最先（回放与合并的请求不占并发额度），再做节点级过载削减，最后占用租户舱壁
+        registry.addInterceptor(idempotencyInterceptor).addPathPatterns("/**");
+        registry.addInterceptor(adaptiveLimitInterceptor).addPathPatterns("/**");
+        registry.addInterceptor(bulkheadInterceptor).addPathPatterns("/**");
     }
 
     @Override
@@ -1,26 +1,75 @@
 package com.wangguangwu.axflow.context;
 
+import java.util.function.Supplier;
+
 /**
- * 多租户上下文（ThreadLocal）。
+ * 多租户上下文（ThreadLocal），保存规范化的 {@link TenantId}。
+ *
+ * <p>载体只是一个指向驻留 {@link TenantId} 的引用：设置/清除不分配对象，也不使用 InheritableThreadLocal
+ * （避免每创建一个线程就复制一次，对海量虚拟线程尤其重要）。跨线程传播由
+ * {@code com.wangguangwu.axflow.concurrent.TenantPropagation} 在提交任务时显式捕获并恢复。</p>
  *
  * @author wangguangwu
  */
 public final class TenantContext {
 
-    private static final ThreadLocal<String> TL = new ThreadLocal<>();
+    private static final ThreadLocal<TenantId> TL = new ThreadLocal<>();
 
     private TenantContext() {
     }
 
+    public static void setTenant(TenantId tenant) {
+        TL.set(tenant);
+    }
+
+    public static TenantId getTenant() {
+        return TL.get();
+    }
+
     public static void setTenantId(String tenantId) {
-        TL.set(tenantId);
+        TL.set(tenantId == null ? null : TenantId.of(tenantId));
     }
 
     public static String getTenantId() {
-        return TL.get();
+        TenantId tenant = TL.get();
+        return tenant == null ? null : tenant.value();
     }
 
     public static void clear() {
         TL.remove();
     }
+
+    /**
+     * 在当前线程上以指定租户执行，返回前恢复原租户（可嵌套）。
+     */
+    public static <T> T callWith(TenantId tenant, Supplier<T> action) {
+        TenantId previous = TL.get();
+        TL.set(tenant);
+        try {
+            return action.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * 在当前线程上以指定租户执行，返回前恢复原租户（可嵌套）。
+     */
+    public static void runWith(TenantId tenant, Runnable action) {
+        TenantId previous = TL.get();
+        TL.set(tenant);
+        try {
+            action.run();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    private static void restore(TenantId previous) {
+        if (previous == null) {
+            TL.remove();
+        } else {
+            TL.set(previous);
+        }
+    }
 }
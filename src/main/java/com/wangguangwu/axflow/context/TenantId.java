@@ -0,0 +1,118 @@
+package com.wangguangwu.axflow.context;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 规范化的租户标识：已登记的租户被驻留（intern）为唯一实例，并分配稠密的 int 序号，
+ * 供路由表以数组下标直接寻址。
+ *
+ * <p>只有框架登记过的租户（如 {@code @AxFlowModel} 声明的租户）才会被驻留；
+ * 请求头中出现的未知租户得到一个序号为 {@link #UNKNOWN_ORDINAL} 的临时实例，不进入驻留表，
+ * 避免外部输入撑大驻留表。</p>
+ *
+ * @author wangguangwu
+ */
+public final class TenantId {
+
+    /**
+     * 未登记租户的序号
+     */
+    public static final int UNKNOWN_ORDINAL = -1;
+
+    private static final Map<String, TenantId> INTERNED = new ConcurrentHashMap<>();
+
+    private static final Object LOCK = new Object();
+
+    private static int nextOrdinal;
+
+    private final String value;
+    private final int ordinal;
+
+    private TenantId(String value, int ordinal) {
+        this.value = value;
+        this.ordinal = ordinal;
+    }
+
+    /**
+     * 登记并返回规范实例；同一租户多次登记返回同一实例与序号。
+     *
+     * @param tenantId 租户 ID（会去除首尾空白，不能为空）
+     */
+    public static TenantId intern(String tenantId) {
+        String v = tenantId.trim();
+        if (v.isEmpty()) {
+            throw new IllegalArgumentException("租户ID不能为空");
+        }
+        TenantId existing = INTERNED.get(v);
+        if (existing != null) {
+            return existing;
+        }
+        synchronized (LOCK) {
+            return INTERNED.computeIfAbsent(v, k -> new TenantId(k, nextOrdinal++));
+        }
+    }
+
+    /**
+     * 查找规范实例；未登记的租户返回不驻留的临时实例（序号为 {@link #UNKNOWN_ORDINAL}）。
+     * <p>仅在首尾含空白时才会产生 trim 后的新字符串。</p>
+     *
+     * @param raw 原始租户 ID，不能为 null
+     */
+    public static TenantId of(String raw) {
+        TenantId hit = INTERNED.get(raw);
+        if (hit != null) {
+            return hit;
+        }
+        String v = raw.trim();
+        if (v.length() != raw.length()) {
+            hit = INTERNED.get(v);
+            if (hit != null) {
+                return hit;
+            }
+        }
+        return new TenantId(v, UNKNOWN_ORDINAL);
+    }
+
+    /**
+     * 已分配的序号个数（即当前最大序号 + 1），可作为路由数组长度。
+     */
+    public static int ordinalCount() {
+        synchronized (LOCK) {
+            return nextOrdinal;
+        }
+    }
+
+    public String value() {
+        return value;
+    }
+
+    public int ordinal() {
+        return ordinal;
+    }
+
+    /**
+     * 是否为已登记（驻留）的租户。
+     */
+    public boolean isKnown() {
+        return ordinal != UNKNOWN_ORDINAL;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof TenantId other && value.equals(other.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return value.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
@@ -0,0 +1,318 @@
+package com.wangguangwu.axflow.idempotency;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 按 (租户, 处理方法, 幂等键) 缓存 {@code @AxFlow(idempotent = true)} 方法的响应，重试请求直接回放，不再读取、路由、绑定与校验。
+ *
+ * <ul>
+ *   <li>分片：键按哈希分到 2 的幂个分片，每个分片一把锁、一张按访问顺序排列的表，超出分片容量时淘汰最久未访问的结果；</li>
+ *   <li>过期：结果带绝对过期时间（墙钟，便于跨重启恢复），查找时惰性剔除；</li>
+ *   <li>合并：同一键第一次到达的请求成为执行者，执行期间到达的重复请求等待其结果，
+ *       执行者未产生可缓存结果（异常、被限流等）时释放该键，等待者重新竞争执行；</li>
+ *   <li>持久化（可选）：启动时加载快照中未过期的结果，按 {@code store.flush-interval} 与停机时写回。</li>
+ * </ul>
+ *
+ * <p>执行中的键不计入容量、不参与淘汰，执行结束后才作为结果入表。</p>
+ *
+ * @author wangguangwu
+ */
+@Slf4j
+@Component
+public class AxFlowIdempotencyCache {
+
+    static final String PREFIX = "axflow.idempotency";
+
+    private final Environment environment;
+
+    private volatile AxFlowIdempotencyProperties properties = AxFlowIdempotencyProperties.defaults();
+    private volatile Shard[] shards = new Shard[0];
+    private ScheduledExecutorService flusher;
+
+    public AxFlowIdempotencyCache(Environment environment) {
+        this.environment = environment;
+    }
+
+    /**
+     * 缓存键。
+     *
+     * @param tenant 租户 ID
+     * @param route  处理方法的完整签名（{@code 声明类全名#方法名(参数类型全名,...)}），重载与同名类互不共享
+     * @param token  幂等键：{@code key:<请求头值>} 或 {@code sha256:<请求体摘要>}
+     */
+    public record Key(String tenant, String route, String token) {
+    }
+
+    /**
+     * 可回放的响应。
+     *
+     * @param status      HTTP 状态码
+     * @param contentType 响应内容类型
+     * @param body        已序列化的响应体
+     * @param expiresAt   过期时间（epoch 毫秒）
+     */
+    public record Replay(int status, String contentType, byte[] body, long expiresAt) {
+
+        boolean expired(long now) {
+            return now >= expiresAt;
+        }
+    }
+
+    /**
+     * 查找结果：命中、成为执行者、等待正在执行的同键请求，或等待者已满。
+     */
+    public sealed interface Claim {
+
+        record Hit(Replay replay) implements Claim {
+        }
+
+        record Leader(Ticket ticket) implements Claim {
+        }
+
+        /**
+         * 等待者：结束等待后（无论结果如何）必须调用一次 {@link #leave()}。
+         *
+         * @param result 执行者的结果；执行者未产生可缓存结果时以 null 完成
+         */
+        record Follower(CompletableFuture<Replay> result, Ticket leader) implements Claim {
+
+            public void leave() {
+                leader.leave();
+            }
+        }
+
+        /**
+         * 同键请求执行中且等待者已达 {@code max-waiters}：不再等待
+         */
+        record Busy() implements Claim {
+        }
+    }
+
+    /**
+     * 执行者持有的凭证：请求结束时必须 {@link #complete} 或 {@link #abandon}（两者只有第一次生效）。
+     */
+    public final class Ticket {
+
+        private final Key key;
+        private final Shard shard;
+        private final CompletableFuture<Replay> result = new CompletableFuture<>();
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        /**
+         * 当前等待者数（在 shard 锁内读写）
+         */
+        private int waiters;
+
+        private Ticket(Key key, Shard shard) {
+            this.key = key;
+            this.shard = shard;
+        }
+
+        /**
+         * 保存结果并唤醒等待者。
+         */
+        public void complete(int status, String contentType, byte[] body) {
+            if (!done.compareAndSet(false, true)) {
+                return;
+            }
+            Replay replay = new Replay(status, contentType, body,
+                    System.currentTimeMillis() + properties.ttl().toMillis());
+            synchronized (shard) {
+                shard.inflight.remove(key, this);
+                shard.results.put(key, replay);
+            }
+            result.complete(replay);
+        }
+
+        /**
+         * 放弃执行（未产生可缓存结果）：释放键，等待者重新竞争执行。
+         */
+        public void abandon() {
+            if (!done.compareAndSet(false, true)) {
+                return;
+            }
+            synchronized (shard) {
+                shard.inflight.remove(key, this);
+            }
+            result.complete(null);
+        }
+
+        private void leave() {
+            synchronized (shard) {
+                waiters--;
+            }
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        AxFlowIdempotencyProperties p = Binder.get(environment)
+                .bind(PREFIX, AxFlowIdempotencyProperties.class)
+                .orElseGet(AxFlowIdempotencyProperties::defaults);
+        int capacity = Math.max(1, p.maxEntries() / p.shards());
+        Shard[] s = new Shard[p.shards()];
+        for (int i = 0; i < s.length; i++) {
+            s[i] = new Shard(capacity);
+        }
+        this.properties = p;
+        this.shards = s;
+        if (p.enabled() && p.store().enabled()) {
+            restore(Path.of(p.store().path()));
+            long interval = p.store().flushInterval() == null ? 0 : p.store().flushInterval().toMillis();
+            if (interval > 0) {
+                flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+                    Thread t = new Thread(r, "axflow-idempotency-flush");
+                    t.setDaemon(true);
+                    return t;
+                });
+                flusher.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+            }
+        }
+        log.info("AxFlow 幂等缓存: enabled={}, header={}, ttl={}, maxEntries={}, shards={}, maxWaiters={}, store={}",
+                p.enabled(), p.header(), p.ttl(), p.maxEntries(), p.shards(), p.maxWaiters(),
+                p.store().enabled() ? p.store().path() : "none");
+    }
+
+    public boolean enabled() {
+        return properties.enabled();
+    }
+
+    public AxFlowIdempotencyProperties properties() {
+        return properties;
+    }
+
+    /**
+     * 查找或占用一个键。
+     */
+    public Claim claim(Key key) {
+        Shard shard = shardOf(key);
+        long now = System.currentTimeMillis();
+        synchronized (shard) {
+            Replay replay = shard.results.get(key);
+            if (replay != null) {
+                if (!replay.expired(now)) {
+                    return new Claim.Hit(replay);
+                }
+                shard.results.remove(key);
+            }
+            Ticket running = shard.inflight.get(key);
+            if (running != null) {
+                if (running.waiters >= properties.maxWaiters()) {
+                    return new Claim.Busy();
+                }
+                running.waiters++;
+                return new Claim.Follower(running.result, running);
+            }
+            Ticket ticket = new Ticket(key, shard);
+            shard.inflight.put(key, ticket);
+            return new Claim.Leader(ticket);
+        }
+    }
+
+    /**
+     * 当前缓存的结果数（含尚未剔除的过期结果）。
+     */
+    public int size() {
+        int n = 0;
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                n += shard.results.size();
+            }
+        }
+        return n;
+    }
+
+    /**
+     * 将未过期的结果写入快照文件（未配置持久化时不做任何事）。
+     */
+    public void flush() {
+        AxFlowIdempotencyProperties p = properties;
+        if (!p.enabled() || !p.store().enabled()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        List<Map.Entry<Key, Replay>> entries = new ArrayList<>();
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                shard.results.entrySet().removeIf(e -> e.getValue().expired(now));
+                entries.addAll(Map.copyOf(shard.results).entrySet());
+            }
+        }
+        try {
+            AxFlowIdempotencyStore.save(Path.of(p.store().path()), entries);
+        } catch (IOException e) {
+            log.warn("幂等缓存快照写入失败: path={}, error={}", p.store().path(), e.getMessage());
+        }
+    }
+
+    private void restore(Path path) {
+        try {
+            long now = System.currentTimeMillis();
+            int loaded = 0;
+            for (Map.Entry<Key, Replay> e : AxFlowIdempotencyStore.load(path)) {
+                if (e.getValue().expired(now)) {
+                    continue;
+                }
+                Shard shard = shardOf(e.getKey());
+                synchronized (shard) {
+                    shard.results.put(e.getKey(), e.getValue());
+                }
+                loaded++;
+            }
+            log.info("幂等缓存快照已加载: path={}, entries={}", path, loaded);
+        } catch (IOException e) {
+            log.warn("幂等缓存快照加载失败，按空缓存启动: path={}, error={}", path, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+        flush();
+    }
+
+    private Shard shardOf(Key key) {
+        Shard[] s = shards;
+        int h = key.hashCode();
+        return s[(h ^ (h >>> 16)) & (s.length - 1)];
+    }
+
+    /**
+     * 单个分片：结果表按访问顺序排列，超出容量时淘汰最久未访问的结果。所有访问都在分片锁内。
+     */
+    private static final class Shard {
+
+        private final Map<Key, Replay> results;
+        private final Map<Key, Ticket> inflight = new HashMap<>();
+
+        Shard(int capacity) {
+            this.results = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(@Nullable Map.Entry<Key, Replay> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+    }
+}
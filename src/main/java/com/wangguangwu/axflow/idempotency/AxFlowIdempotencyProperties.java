@@ -0,0 +1,71 @@
+package com.wangguangwu.axflow.idempotency;
+
+import java.time.Duration;
+
+/**
+ * 幂等缓存配置（前缀 {@code axflow.idempotency}），仅对 {@code @AxFlow(idempotent = true)} 的方法生效。
+ *
+ * <pre>
+ * axflow:
+ *   idempotency:
+ *     enabled: true
+ *     header: Idempotency-Key
+ *     ttl: 10m
+ *     max-entries: 100000
+ *     shards: 16
+ *     wait-timeout: 5s
+ *     max-waiters: 8
+ *     store: { path: /var/lib/axflow/idempotency.bin, flush-interval: 30s }
+ * </pre>
+ *
+ * @param enabled      是否启用
+ * @param header       幂等键请求头；请求未携带时以请求体的 SHA-256 作为键
+ * @param ttl          结果保留时长
+ * @param maxEntries   缓存结果总数上限（均分到各分片，超出时按 LRU 淘汰）
+ * @param shards       分片数（向上取整为 2 的幂）
+ * @param waitTimeout  相同键的请求正在执行时，后到请求等待其结果的最长时间；超时返回 409
+ * @param maxWaiters   同一个键同时等待的请求数上限（等待会占用 Servlet 工作线程）；超出时不等待、直接返回 409，0 表示从不等待
+ * @param maxKeyLength 请求头幂等键的最大长度
+ * @param store        文件持久化（重启后恢复未过期的结果）；path 为空表示不持久化
+ * @author wangguangwu
+ */
+public record AxFlowIdempotencyProperties(boolean enabled,
+                                          String header,
+                                          Duration ttl,
+                                          int maxEntries,
+                                          int shards,
+                                          Duration waitTimeout,
+                                          Integer maxWaiters,
+                                          int maxKeyLength,
+                                          Store store) {
+
+    public AxFlowIdempotencyProperties {
+        header = header == null || header.isBlank() ? "Idempotency-Key" : header.trim();
+        ttl = ttl == null || ttl.isNegative() || ttl.isZero() ? Duration.ofMinutes(10) : ttl;
+        maxEntries = maxEntries > 0 ? maxEntries : 100_000;
+        shards = Integer.highestOneBit(Math.max(1, Math.min(shards > 0 ? shards : 16, 1 << 10)) * 2 - 1);
+        waitTimeout = waitTimeout == null || waitTimeout.isNegative() ? Duration.ofSeconds(5) : waitTimeout;
+        maxWaiters = maxWaiters == null || maxWaiters < 0 ? 8 : maxWaiters;
+        maxKeyLength = maxKeyLength > 0 ? maxKeyLength : 256;
+        store = store == null ? Store.NONE : store;
+    }
+
+    public static AxFlowIdempotencyProperties defaults() {
+        return new AxFlowIdempotencyProperties(true, null, null, 0, 0, null, null, 0, null);
+    }
+
+    /**
+     * 文件持久化配置。
+     *
+     * @param path          快照文件路径；为空表示不持久化
+     * @param flushInterval 定期写快照的间隔（停机时总会再写一次）；null 或 0 表示只在停机时写
+     */
+    public record Store(String path, Duration flushInterval) {
+
+        public static final Store NONE = new Store(null, null);
+
+        public boolean enabled() {
+            return path != null && !path.isBlank();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.wangguangwu.axflow.idempotency;
+
+import com.wangguangwu.axflow.idempotency.AxFlowIdempotencyCache.Key;
+import com.wangguangwu.axflow.idempotency.AxFlowIdempotencyCache.Replay;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 幂等缓存的文件快照：二进制格式（魔数 + 版本 + 条目），先写临时文件再原子替换，进程中途退出不会留下半个快照。
+ *
+ * @author wangguangwu
+ */
+final class AxFlowIdempotencyStore {
+
+    private static final int MAGIC = 0x4158_4944;
+    private static final int VERSION = 1;
+
+    private AxFlowIdempotencyStore() {
+    }
+
+    static void save(Path path, List<Map.Entry<Key, Replay>> entries) throws IOException {
+        Path dir = path.toAbsolutePath().getParent();
+        if (dir != null) {
+            Files.createDirectories(dir);
+        }
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(entries.size());
+            for (Map.Entry<Key, Replay> e : entries) {
+                Key key = e.getKey();
+                Replay replay = e.getValue();
+                out.writeUTF(key.tenant());
+                out.writeUTF(key.route());
+                out.writeUTF(key.token());
+                out.writeLong(replay.expiresAt());
+                out.writeInt(replay.status());
+                out.writeUTF(replay.contentType());
+                out.writeInt(replay.body().length);
+                out.write(replay.body());
+            }
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * 读取快照；文件不存在时返回空列表。
+     */
+    static List<Map.Entry<Key, Replay>> load(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("不是幂等缓存快照文件");
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("不支持的快照版本: " + version);
+            }
+            int n = in.readInt();
+            List<Map.Entry<Key, Replay>> entries = new ArrayList<>(Math.max(0, Math.min(n, 1 << 16)));
+            for (int i = 0; i < n; i++) {
+                Key key = new Key(in.readUTF(), in.readUTF(), in.readUTF());
+                long expiresAt = in.readLong();
+                int status = in.readInt();
+                String contentType = in.readUTF();
+                byte[] body = new byte[in.readInt()];
+                in.readFully(body);
+                entries.add(Map.entry(key, new Replay(status, contentType, body, expiresAt)));
+            }
+            return entries;
+        } catch (NoSuchFileException e) {
+            return List.of();
+        }
+    }
+}
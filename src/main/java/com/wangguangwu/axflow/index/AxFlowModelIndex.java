@@ -0,0 +1,127 @@
+package com.wangguangwu.axflow.index;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 构建期生成的 {@code @AxFlowModel} 索引（由 {@link AxFlowModelIndexProcessor} 写出）。
+ *
+ * <p>文件格式：UTF-8 文本，每行一条 (子类, 基类, 租户[, 判别值]) 记录，以制表符分隔；
+ * 类名为二进制名（内部类使用 {@code $}），{@code #} 开头为注释行。
+ * 判别值列仅在子类声明了 {@code discriminator} 时写出，旧格式（三列）的索引仍可读取。
+ * 基类与租户均已在构建期推导/规整，与运行时扫描规则一致。</p>
+ *
+ * <p>头部的 {@code #packages} 行（以制表符分隔、包名逗号分隔）记录生成该索引时编译过的全部 Java 包：
+ * 索引只对这些包是完整的，运行时仅对被覆盖的扫描包采纳索引，其余包仍走类路径扫描。
+ * 没有该行的旧索引不覆盖任何包。</p>
+ *
+ * <p>本类仅依赖 JDK，便于在注解处理器与运行时共用。</p>
+ *
+ * @author wangguangwu
+ */
+public final class AxFlowModelIndex {
+
+    /**
+     * 索引资源路径（可能存在于多个 jar 中）
+     */
+    public static final String LOCATION = "META-INF/axflow/axflow-models.index";
+
+    static final char SEPARATOR = '\t';
+
+    /**
+     * 覆盖包头部行的前缀
+     */
+    static final String PACKAGES_HEADER = "#packages" + SEPARATOR;
+
+    private AxFlowModelIndex() {
+    }
+
+    /**
+     * 索引条目。
+     *
+     * @param subtype  子类二进制名
+     * @param baseType 基类二进制名
+     * @param tenantId      规整后的租户 ID
+     * @param discriminator 规整后的判别值；空串表示未声明
+     */
+    public record Entry(String subtype, String baseType, String tenantId, String discriminator) {
+
+        public Entry(String subtype, String baseType, String tenantId) {
+            this(subtype, baseType, tenantId, "");
+        }
+
+        String toLine() {
+            String line = subtype + SEPARATOR + baseType + SEPARATOR + tenantId;
+            return discriminator.isEmpty() ? line : line + SEPARATOR + discriminator;
+        }
+    }
+
+    /**
+     * classpath 上所有索引文件的合并内容。
+     *
+     * @param entries  全部条目
+     * @param packages 各索引覆盖的 Java 包之并集
+     */
+    public record Contents(List<Entry> entries, Set<String> packages) {
+
+        /**
+         * 索引是否完整覆盖该扫描包（该包本身在生成索引时被编译过）
+         */
+        public boolean covers(String basePackage) {
+            return packages.contains(basePackage);
+        }
+    }
+
+    /**
+     * 读取 classpath 上所有索引文件；一个都不存在时返回 null（调用方应回退到扫描）。
+     */
+    public static Contents load(ClassLoader classLoader) throws IOException {
+        Enumeration<URL> urls = classLoader.getResources(LOCATION);
+        if (!urls.hasMoreElements()) {
+            return null;
+        }
+        List<Entry> entries = new ArrayList<>();
+        Set<String> packages = new TreeSet<>();
+        while (urls.hasMoreElements()) {
+            try (InputStream in = urls.nextElement().openStream()) {
+                read(in, entries, packages);
+            }
+        }
+        return new Contents(entries, packages);
+    }
+
+    /**
+     * 读取单个索引文件，条目追加到 out，覆盖包追加到 packages。
+     */
+    static void read(InputStream in, List<Entry> out, Set<String> packages) throws IOException {
+        var reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.startsWith(PACKAGES_HEADER)) {
+                for (String pkg : line.substring(PACKAGES_HEADER.length()).split(",")) {
+                    if (!pkg.isBlank()) {
+                        packages.add(pkg.trim());
+                    }
+                }
+                continue;
+            }
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            String[] parts = line.split(String.valueOf(SEPARATOR), -1);
+            if (parts.length != 3 && parts.length != 4) {
+                throw new IOException("AxFlow 索引格式错误: " + line);
+            }
+            out.add(new Entry(parts[0], parts[1], parts[2], parts.length == 4 ? parts[3] : ""));
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.wangguangwu.axflow.index;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * 注解处理器：编译期收集所有 {@code @AxFlowModel} 类，推导基类并规整租户与判别值，写出
+ * {@link AxFlowModelIndex#LOCATION} 索引，使运行时免去类路径扫描。
+ *
+ * <p>推导规则与 {@code AxFlowSubtypeRegistry} 一致：</p>
+ * <ol>
+ *   <li>base() 非 Void.class：使用注解值，并校验子类关系；</li>
+ *   <li>否则取最顶层非 Object 父类；无父类时使用自身。</li>
+ * </ol>
+ *
+ * <p>增量编译（IDE、部分重新编译）时本轮只看到被重新编译的类：写出前读取输出目录中已有的索引，
+ * 其中未在本轮出现的子类按类型重新解析，仍存在且仍标注 {@code @AxFlowModel} 的重新收集，
+ * 已删除或去掉注解的丢弃，因此索引始终覆盖全部模型。</p>
+ *
+ * <p>索引头部记录编译过的全部 Java 包（{@code #packages} 行，增量编译时与上次的记录合并），
+ * 运行时据此判断索引对哪些扫描包是完整的。</p>
+ *
+ * <p>处理器不通过 {@code META-INF/services} 自动发现（否则会在每个依赖本 jar 的工程中运行），
+ * 需在编译插件的 {@code annotationProcessors} 中显式声明。</p>
+ *
+ * @author wangguangwu
+ */
+@SupportedAnnotationTypes(AxFlowModelIndexProcessor.ANNOTATION)
+public class AxFlowModelIndexProcessor extends AbstractProcessor {
+
+    static final String ANNOTATION = "com.wangguangwu.axflow.annotation.AxFlowModel";
+
+    /**
+     * 子类二进制名 → 条目，跨轮次累积，最后一轮统一写出（按类名排序，保证输出稳定）
+     */
+    private final Map<String, List<AxFlowModelIndex.Entry>> collected = new TreeMap<>();
+
+    /**
+     * 编译过的 Java 包（本轮的全部根类型所在包，跨轮次累积）
+     */
+    private final Set<String> packages = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            boolean hadIndex = mergePrevious();
+            if (hadIndex || !collected.isEmpty()) {
+                write();
+            }
+            return false;
+        }
+        var elements = processingEnv.getElementUtils();
+        for (Element e : roundEnv.getRootElements()) {
+            String pkg = elements.getPackageOf(e).getQualifiedName().toString();
+            if (e instanceof TypeElement && !pkg.isEmpty()) {
+                packages.add(pkg);
+            }
+        }
+        TypeElement annotation = elements.getTypeElement(ANNOTATION);
+        if (annotation == null) {
+            return false;
+        }
+        for (Element e : roundEnv.getElementsAnnotatedWith(annotation)) {
+            if (e instanceof TypeElement type) {
+                collect(type, annotation);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 合并输出目录中上次写出的索引：本轮未出现的子类按类型重新收集，已不存在或不再标注的丢弃。
+     *
+     * @return 输出目录中是否已有索引
+     */
+    private boolean mergePrevious() {
+        List<AxFlowModelIndex.Entry> previous = new ArrayList<>();
+        try {
+            FileObject file = processingEnv.getFiler()
+                    .getResource(StandardLocation.CLASS_OUTPUT, "", AxFlowModelIndex.LOCATION);
+            try (InputStream in = file.openInputStream()) {
+                AxFlowModelIndex.read(in, previous, packages);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // 首次编译或输出目录已清理：没有可合并的索引
+            return false;
+        }
+        var elements = processingEnv.getElementUtils();
+        TypeElement annotation = elements.getTypeElement(ANNOTATION);
+        for (AxFlowModelIndex.Entry entry : previous) {
+            if (annotation == null || collected.containsKey(entry.subtype())) {
+                continue;
+            }
+            TypeElement type = elements.getTypeElement(entry.subtype().replace('$', '.'));
+            if (type != null) {
+                collect(type, annotation);
+            }
+        }
+        return true;
+    }
+
+    private void collect(TypeElement type, TypeElement annotation) {
+        AnnotationMirror mirror = type.getAnnotationMirrors().stream()
+                .filter(m -> m.getAnnotationType().asElement().equals(annotation))
+                .findFirst()
+                .orElse(null);
+        if (mirror == null) {
+            return;
+        }
+
+        TypeElement base = deriveBaseType(type, mirror);
+        if (base == null) {
+            return;
+        }
+        Set<String> tenants = normalizeTenants(type, mirror);
+        if (tenants.isEmpty()) {
+            return;
+        }
+
+        Set<String> discriminators = strings(valueOf(mirror, "discriminator"));
+        if (discriminators.isEmpty()) {
+            discriminators = Set.of("");
+        }
+
+        var elements = processingEnv.getElementUtils();
+        String subtypeName = elements.getBinaryName(type).toString();
+        String baseName = elements.getBinaryName(base).toString();
+        List<AxFlowModelIndex.Entry> entries = new ArrayList<>();
+        for (String t : tenants) {
+            for (String d : discriminators) {
+                entries.add(new AxFlowModelIndex.Entry(subtypeName, baseName, t, d));
+            }
+        }
+        collected.put(subtypeName, entries);
+    }
+
+    private TypeElement deriveBaseType(TypeElement type, AnnotationMirror mirror) {
+        var types = processingEnv.getTypeUtils();
+        AnnotationValue baseValue = valueOf(mirror, "base");
+        if (baseValue != null && baseValue.getValue() instanceof DeclaredType declared) {
+            TypeElement explicit = (TypeElement) declared.asElement();
+            if (!explicit.getQualifiedName().contentEquals("java.lang.Void")) {
+                if (!types.isAssignable(types.erasure(type.asType()), types.erasure(declared))) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                            "@AxFlowModel 声明非法：子类 %s 不是 base %s 的子类型"
+                                    .formatted(type.getQualifiedName(), explicit.getQualifiedName()), type);
+                    return null;
+                }
+                return explicit;
+            }
+        }
+        TypeElement last = null;
+        TypeMirror cur = type.getSuperclass();
+        while (cur.getKind() == TypeKind.DECLARED) {
+            TypeElement e = (TypeElement) ((DeclaredType) cur).asElement();
+            if (e.getQualifiedName().contentEquals("java.lang.Object")) {
+                break;
+            }
+            last = e;
+            cur = e.getSuperclass();
+        }
+        return last != null ? last : type;
+    }
+
+    private Set<String> normalizeTenants(TypeElement type, AnnotationMirror mirror) {
+        Set<String> tenants = strings(valueOf(mirror, "value"));
+        if (tenants.isEmpty()) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "@AxFlowModel 缺少租户列表：" + type.getQualifiedName(), type);
+        }
+        return tenants;
+    }
+
+    /**
+     * 读取字符串（数组）类型的注解值：去空白、去重，保持声明顺序。
+     */
+    private Set<String> strings(AnnotationValue value) {
+        Set<String> out = new LinkedHashSet<>();
+        if (value != null && value.getValue() instanceof List<?> list) {
+            for (Object o : list) {
+                String t = String.valueOf(((AnnotationValue) o).getValue()).trim();
+                if (!t.isEmpty()) {
+                    out.add(t);
+                }
+            }
+        } else if (value != null) {
+            String t = String.valueOf(value.getValue()).trim();
+            if (!t.isEmpty()) {
+                out.add(t);
+            }
+        }
+        return out;
+    }
+
+    private AnnotationValue valueOf(AnnotationMirror mirror, String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> e : mirror.getElementValues().entrySet()) {
+            if (e.getKey().getSimpleName().contentEquals(name)) {
+                return e.getValue();
+            }
+        }
+        return null;
+    }
+
+    private void write() {
+        try {
+            FileObject file = processingEnv.getFiler()
+                    .createResource(StandardLocation.CLASS_OUTPUT, "", AxFlowModelIndex.LOCATION);
+            try (Writer w = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+                w.write("# Generated by AxFlowModelIndexProcessor, do not edit.\n");
+                w.write(AxFlowModelIndex.PACKAGES_HEADER + String.join(",", packages) + "\n");
+                for (var entries : collected.values()) {
+                    for (var entry : entries.stream()
+                            .sorted(Comparator.comparing(AxFlowModelIndex.Entry::tenantId)
+                                    .thenComparing(AxFlowModelIndex.Entry::discriminator))
+                            .toList()) {
+                        w.write(entry.toLine());
+                        w.write('\n');
+                    }
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "写出 AxFlow 索引失败: " + e.getMessage());
+        }
+    }
+}
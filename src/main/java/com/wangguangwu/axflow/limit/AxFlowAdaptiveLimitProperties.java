@@ -0,0 +1,73 @@
+package com.wangguangwu.axflow.limit;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 自适应并发限制配置（前缀 {@code axflow.adaptive-limit}），运行时变更需调用 {@link AxFlowAdaptiveLimiter#reload()} 重新绑定。
+ *
+ * <pre>
+ * axflow:
+ *   adaptive-limit:
+ *     enabled: true
+ *     initial-limit: 20
+ *     min-limit: 4
+ *     max-limit: 500
+ *     default-priority: NORMAL
+ *     tenants:
+ *       TenantA: HIGH
+ *       TenantC: LOW
+ *     shares: { HIGH: 1.0, NORMAL: 0.9, LOW: 0.7 }   # 各优先级可使用的并发上限比例
+ * </pre>
+ *
+ * @param enabled         是否启用
+ * @param initialLimit    初始并发上限
+ * @param minLimit        并发上限下界
+ * @param maxLimit        并发上限上界
+ * @param smoothing       每次调整的平滑系数（0~1，越大越激进）
+ * @param tolerance       可容忍的短期/长期 RTT 比值（超过后开始收缩）
+ * @param defaultPriority 未配置的租户（含未登记租户）的优先级
+ * @param tenants         租户 → 优先级
+ * @param shares          优先级 → 可使用的并发上限比例；高负载时低优先级先被拒绝
+ * @author wangguangwu
+ */
+public record AxFlowAdaptiveLimitProperties(boolean enabled,
+                                            int initialLimit,
+                                            int minLimit,
+                                            int maxLimit,
+                                            double smoothing,
+                                            double tolerance,
+                                            Priority defaultPriority,
+                                            Map<String, Priority> tenants,
+                                            Map<Priority, Double> shares) {
+
+    /**
+     * 租户优先级
+     */
+    public enum Priority {
+        HIGH, NORMAL, LOW
+    }
+
+    public AxFlowAdaptiveLimitProperties {
+        minLimit = Math.max(1, minLimit);
+        maxLimit = Math.max(minLimit, maxLimit <= 0 ? 1000 : maxLimit);
+        initialLimit = Math.min(maxLimit, Math.max(minLimit, initialLimit <= 0 ? 20 : initialLimit));
+        smoothing = smoothing <= 0 || smoothing > 1 ? 0.2 : smoothing;
+        tolerance = tolerance < 1 ? 1.5 : tolerance;
+        defaultPriority = defaultPriority == null ? Priority.NORMAL : defaultPriority;
+        tenants = tenants == null ? Map.of() : Map.copyOf(tenants);
+        Map<Priority, Double> merged = new EnumMap<>(Map.of(Priority.HIGH, 1.0, Priority.NORMAL, 0.9, Priority.LOW, 0.7));
+        if (shares != null) {
+            shares.forEach((p, v) -> merged.put(p, Math.max(0d, Math.min(1d, v))));
+        }
+        shares = Map.copyOf(merged);
+    }
+
+    public static AxFlowAdaptiveLimitProperties disabled() {
+        return new AxFlowAdaptiveLimitProperties(false, 0, 0, 0, 0, 0, null, null, null);
+    }
+
+    public Priority priorityOf(String tenantId) {
+        return tenantId == null ? defaultPriority : tenants.getOrDefault(tenantId, defaultPriority);
+    }
+}
@@ -0,0 +1,186 @@
+package com.wangguangwu.axflow.limit;
+
+import com.wangguangwu.axflow.context.TenantId;
+import com.wangguangwu.axflow.metrics.AxFlowMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 自适应并发限制（延迟梯度算法）：根据观测到的请求延迟持续估算本节点可承受的并发数，
+ * 过载时优先拒绝低优先级租户，使 p99 保持稳定，而不是让队列堆积到超时。
+ *
+ * <p>估算方式（参考 Gradient2 / Vegas）：</p>
+ * <ol>
+ *   <li>按 100ms 采样窗口统计平均 RTT；无负载基线 RTT 取各窗口平均的最小值，并缓慢向上漂移以适应基线变化；</li>
+ *   <li>梯度 = clamp(tolerance × 基线RTT / 短期RTT, 0.5, 1.0)：排队导致延迟上升时梯度 &lt; 1，上限收缩；</li>
+ *   <li>新上限 = 当前上限 × 梯度 + sqrt(当前上限)（为排队预留余量，延迟平稳时缓慢增长），再按 smoothing 平滑；</li>
+ *   <li>在途请求不足上限一半时只收缩不增长（应用未被压满，延迟不代表容量）。</li>
+ * </ol>
+ *
+ * <p>准入：优先级 p 的租户只有在 {@code 在途数 < 上限 × shares[p]} 时才放行，
+ * 接近上限时 LOW 先被拒绝，其次 NORMAL，HIGH 可用满全部上限。</p>
+ *
+ * @author wangguangwu
+ */
+@Slf4j
+@Component
+public class AxFlowAdaptiveLimiter {
+
+    static final String PREFIX = "axflow.adaptive-limit";
+
+    /**
+     * 采样窗口：每个窗口（至少 MIN_WINDOW_SAMPLES 个样本）更新一次估算，窗口内取平均 RTT
+     */
+    private static final long WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final int MIN_WINDOW_SAMPLES = 10;
+    private static final double BASELINE_DRIFT = 0.002;
+
+    private final Environment environment;
+    private final AxFlowMetrics metrics;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+
+    private volatile AxFlowAdaptiveLimitProperties properties = AxFlowAdaptiveLimitProperties.disabled();
+    private volatile int limit;
+
+    private final LongAdder windowSum = new LongAdder();
+    private final LongAdder windowCount = new LongAdder();
+    private final AtomicInteger windowMaxInflight = new AtomicInteger();
+    private final AtomicBoolean updating = new AtomicBoolean();
+    private volatile long windowStart = System.nanoTime();
+
+    // 以下估算状态仅在 synchronized(this) 内读写
+    private double estimatedLimit;
+    private double baselineRtt;
+
+    public AxFlowAdaptiveLimiter(Environment environment, AxFlowMetrics metrics) {
+        this.environment = environment;
+        this.metrics = metrics;
+        metrics.adaptiveGauges(() -> limit, inflight);
+    }
+
+    /**
+     * 从 Environment 重新绑定并应用配置（启动时调用；框架不监听配置刷新，运行时变更需由应用调用）。
+     */
+    @PostConstruct
+    public void reload() {
+        update(Binder.get(environment)
+                .bind(PREFIX, AxFlowAdaptiveLimitProperties.class)
+                .orElseGet(AxFlowAdaptiveLimitProperties::disabled));
+    }
+
+    /**
+     * 应用新配置：保留当前估算值（按新的上下界截断）与在途计数。
+     */
+    public synchronized void update(AxFlowAdaptiveLimitProperties properties) {
+        if (estimatedLimit <= 0 || !this.properties.enabled()) {
+            estimatedLimit = properties.initialLimit();
+        }
+        estimatedLimit = Math.min(properties.maxLimit(), Math.max(properties.minLimit(), estimatedLimit));
+        limit = (int) estimatedLimit;
+        this.properties = properties;
+        log.info("AxFlow 自适应并发限制: enabled={}, limit={}, range=[{}, {}], tenants={}",
+                properties.enabled(), limit, properties.minLimit(), properties.maxLimit(), properties.tenants().size());
+    }
+
+    public boolean enabled() {
+        return properties.enabled();
+    }
+
+    /**
+     * 当前估算的并发上限
+     */
+    public int limit() {
+        return limit;
+    }
+
+    public int inflight() {
+        return inflight.get();
+    }
+
+    /**
+     * 尝试准入一次请求；准入后必须在请求完成时调用 {@link #onComplete(long)} 或 {@link #release()}。
+     *
+     * @return 是否准入
+     */
+    public boolean tryAcquire(@Nullable TenantId tenant) {
+        AxFlowAdaptiveLimitProperties p = properties;
+        AxFlowAdaptiveLimitProperties.Priority priority = p.priorityOf(tenant == null ? null : tenant.value());
+        int allowed = Math.max(1, (int) (limit * p.shares().get(priority)));
+        for (; ; ) {
+            int cur = inflight.get();
+            if (cur >= allowed) {
+                metrics.adaptiveShed(tenant, priority.name());
+                return false;
+            }
+            if (inflight.compareAndSet(cur, cur + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 释放在途计数但不记录 RTT：请求未到达处理方法（如被之后的舱壁快速拒绝），其耗时不反映处理延迟，
+     * 计入样本会把基线压到接近 0，使上限塌缩到 {@code min-limit}。
+     */
+    public void release() {
+        inflight.decrementAndGet();
+    }
+
+    /**
+     * 请求完成：释放在途计数并记录本次 RTT；每个采样窗口结束时由一个线程更新估算。
+     *
+     * @param rtt 请求耗时（纳秒）
+     */
+    public void onComplete(long rtt) {
+        int current = inflight.getAndDecrement();
+        if (rtt <= 0 || !properties.enabled()) {
+            return;
+        }
+        windowSum.add(rtt);
+        windowCount.increment();
+        windowMaxInflight.accumulateAndGet(current, Math::max);
+        long now = System.nanoTime();
+        if (now - windowStart >= WINDOW_NANOS && updating.compareAndSet(false, true)) {
+            try {
+                if (now - windowStart >= WINDOW_NANOS && windowCount.sum() >= MIN_WINDOW_SAMPLES) {
+                    windowStart = now;
+                    long count = windowCount.sumThenReset();
+                    long sum = windowSum.sumThenReset();
+                    updateLimit((double) sum / count, windowMaxInflight.getAndSet(0));
+                }
+            } finally {
+                updating.set(false);
+            }
+        }
+    }
+
+    private synchronized void updateLimit(double shortRtt, int maxInflight) {
+        AxFlowAdaptiveLimitProperties p = properties;
+        if (baselineRtt == 0) {
+            baselineRtt = shortRtt;
+            return;
+        }
+        // 基线：取最小值；否则缓慢上漂，避免一次偶然的极小值长期压低上限
+        baselineRtt = shortRtt < baselineRtt ? shortRtt : baselineRtt + (shortRtt - baselineRtt) * BASELINE_DRIFT;
+
+        double gradient = Math.max(0.5, Math.min(1.0, p.tolerance() * baselineRtt / shortRtt));
+        double next = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        next = estimatedLimit * (1 - p.smoothing()) + next * p.smoothing();
+        // 应用未被压满时，延迟不能说明容量，只收缩不增长
+        if (next > estimatedLimit && maxInflight < estimatedLimit / 2) {
+            return;
+        }
+        estimatedLimit = Math.min(p.maxLimit(), Math.max(p.minLimit(), next));
+        limit = (int) estimatedLimit;
+    }
+}
@@ -0,0 +1,221 @@
+package com.wangguangwu.axflow.limit;
+
+import com.wangguangwu.axflow.context.TenantId;
+import com.wangguangwu.axflow.metrics.AxFlowMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 按租户的并发舱壁：限制每个租户同时在途的 {@code @AxFlow(bulkhead = true)} 请求数，
+ * 避免单个租户的慢下游占满共享的 Tomcat 工作线程。
+ *
+ * <p>获取顺序：租户舱壁（立即）→ 共享溢出额度（立即）→ 租户舱壁排队（最多 max-wait）→ 拒绝。
+ * 许可记录了来源，释放时归还到原处；配置更新后，旧配置下发放的许可仍归还到旧舱壁，不会串账。</p>
+ *
+ * <p>已登记租户与 {@code tenants} 中单独配置的租户（应用配置时登记，见 {@link #update}）各自一个舱壁，
+ * 按租户值区分；数量受登记与配置的租户数约束，既未登记也未配置的租户共用一个。
+ * 指标：{@code axflow.bulkhead.active} / {@code axflow.bulkhead.queued}（Gauge）与
+ * {@code axflow.bulkhead.rejected}（Counter），标签 tenant。</p>
+ *
+ * @author wangguangwu
+ */
+@Slf4j
+@Component
+public class AxFlowBulkhead {
+
+    static final String PREFIX = "axflow.bulkhead";
+
+    private static final String UNKNOWN_KEY = "";
+
+    /**
+     * 不受限时使用的空许可
+     */
+    public static final Permit UNBOUNDED = new Permit(null, false);
+
+    private final Environment environment;
+    private final AxFlowMetrics metrics;
+
+    private final Map<String, TenantStats> stats = new ConcurrentHashMap<>();
+
+    private volatile State state = new State(AxFlowBulkheadProperties.disabled(), null);
+
+    public AxFlowBulkhead(Environment environment, AxFlowMetrics metrics) {
+        this.environment = environment;
+        this.metrics = metrics;
+    }
+
+    /**
+     * 已获取的许可；请求结束时必须调用 {@link #release()}（幂等）。
+     */
+    public static final class Permit {
+
+        private final Compartment compartment;
+        private final boolean overflow;
+        private boolean released;
+
+        private Permit(Compartment compartment, boolean overflow) {
+            this.compartment = compartment;
+            this.overflow = overflow;
+        }
+
+        public void release() {
+            if (released || compartment == null) {
+                return;
+            }
+            released = true;
+            compartment.stats.active().decrementAndGet();
+            if (overflow) {
+                compartment.state.overflow.release();
+            } else {
+                compartment.permits.release();
+            }
+        }
+    }
+
+    /**
+     * 从 Environment 重新绑定并应用舱壁配置（启动时调用；框架不监听配置刷新，运行时变更需由应用调用）。
+     */
+    @PostConstruct
+    public void reload() {
+        update(Binder.get(environment)
+                .bind(PREFIX, AxFlowBulkheadProperties.class)
+                .orElseGet(AxFlowBulkheadProperties::disabled));
+    }
+
+    /**
+     * 应用新的舱壁配置；{@code tenants} 中的租户先登记，保证拥有独立的舱壁与指标标签。
+     */
+    public synchronized void update(AxFlowBulkheadProperties properties) {
+        properties.tenants().keySet().forEach(TenantId::intern);
+        state = new State(properties, properties.enabled() ? new Semaphore(properties.overflow()) : null);
+        log.info("AxFlow 舱壁: enabled={}, default={}, tenants={}, overflow={}",
+                properties.enabled(), properties.defaultTenant(), properties.tenants().size(), properties.overflow());
+    }
+
+    public AxFlowBulkheadProperties properties() {
+        return state.properties;
+    }
+
+    public boolean enabled() {
+        return state.properties.enabled();
+    }
+
+    /**
+     * 为租户获取一个并发许可。
+     *
+     * @return 许可；舱壁不限或未启用时返回 {@link #UNBOUNDED}；舱壁已满且排队超时返回 null
+     */
+    public @Nullable Permit tryAcquire(TenantId tenant) {
+        State s = state;
+        if (s.overflow == null) {
+            return UNBOUNDED;
+        }
+        Compartment c = s.compartmentOf(tenant, this);
+        if (c == null) {
+            return UNBOUNDED;
+        }
+        if (c.permits.tryAcquire()) {
+            return c.granted(false);
+        }
+        if (s.overflow.tryAcquire()) {
+            return c.granted(true);
+        }
+        long waitNanos = c.config.maxWaitNanos();
+        if (waitNanos > 0) {
+            c.stats.queued().incrementAndGet();
+            try {
+                if (c.permits.tryAcquire(waitNanos, TimeUnit.NANOSECONDS)) {
+                    return c.granted(false);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                c.stats.queued().decrementAndGet();
+            }
+        }
+        metrics.bulkheadRejected(tenant);
+        return null;
+    }
+
+    /**
+     * 租户的在途/排队计数跨配置版本保留，指标 Gauge 只注册一次
+     */
+    private TenantStats statsOf(String key) {
+        TenantStats stats = this.stats.get(key);
+        if (stats != null) {
+            return stats;
+        }
+        return this.stats.computeIfAbsent(key, k -> {
+            TenantStats created = new TenantStats(new AtomicInteger(), new AtomicInteger());
+            metrics.bulkheadGauges(k.isEmpty() ? null : TenantId.of(k), created.active(), created.queued());
+            return created;
+        });
+    }
+
+    private record TenantStats(AtomicInteger active, AtomicInteger queued) {
+    }
+
+    /**
+     * 一次配置下的全部舱壁
+     */
+    private static final class State {
+
+        private final AxFlowBulkheadProperties properties;
+        private final Semaphore overflow;
+        private final Map<String, Compartment> compartments = new ConcurrentHashMap<>();
+
+        State(AxFlowBulkheadProperties properties, Semaphore overflow) {
+            this.properties = properties;
+            this.overflow = overflow;
+        }
+
+        @Nullable
+        Compartment compartmentOf(TenantId tenant, AxFlowBulkhead owner) {
+            String key = tenant.isKnown() ? tenant.value() : UNKNOWN_KEY;
+            Compartment c = compartments.get(key);
+            if (c != null) {
+                return c.config.unbounded() ? null : c;
+            }
+            c = compartments.computeIfAbsent(key, k -> {
+                AxFlowBulkheadProperties.Compartment cfg = k.isEmpty()
+                        ? properties.defaultTenant()
+                        : properties.tenants().getOrDefault(k, properties.defaultTenant());
+                return new Compartment(this, cfg, cfg.unbounded() ? null : owner.statsOf(k));
+            });
+            return c.config.unbounded() ? null : c;
+        }
+    }
+
+    /**
+     * 单个租户的舱壁
+     */
+    private static final class Compartment {
+
+        private final State state;
+        private final AxFlowBulkheadProperties.Compartment config;
+        private final Semaphore permits;
+        private final TenantStats stats;
+
+        Compartment(State state, AxFlowBulkheadProperties.Compartment config, TenantStats stats) {
+            this.state = state;
+            this.config = config;
+            this.permits = new Semaphore(Math.max(0, config.maxConcurrent()));
+            this.stats = stats;
+        }
+
+        Permit granted(boolean overflow) {
+            stats.active().incrementAndGet();
+            return new Permit(this, overflow);
+        }
+    }
+}
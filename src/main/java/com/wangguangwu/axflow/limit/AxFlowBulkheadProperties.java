@@ -0,0 +1,58 @@
+package com.wangguangwu.axflow.limit;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * 舱壁配置（前缀 {@code axflow.bulkhead}），运行时变更需调用 {@link AxFlowBulkhead#reload()} 重新绑定。
+ *
+ * <pre>
+ * axflow:
+ *   bulkhead:
+ *     enabled: true
+ *     default-tenant: { max-concurrent: 20, max-wait: 50ms }
+ *     tenants:
+ *       TenantA: { max-concurrent: 50, max-wait: 100ms }
+ *     overflow: 20                                   # 各租户共享的额外并发额度
+ * </pre>
+ *
+ * @param enabled       是否启用
+ * @param defaultTenant 未单独配置的租户使用的舱壁；既未登记也未配置的租户共用一个该配置的舱壁
+ * @param tenants       租户 → 舱壁（无需声明 {@code @AxFlowModel}，各自独立）
+ * @param overflow      共享溢出额度：租户舱壁已满时可临时借用，借满后才进入排队
+ * @author wangguangwu
+ */
+public record AxFlowBulkheadProperties(boolean enabled,
+                                       Compartment defaultTenant,
+                                       Map<String, Compartment> tenants,
+                                       int overflow) {
+
+    public AxFlowBulkheadProperties {
+        defaultTenant = defaultTenant == null ? Compartment.UNBOUNDED : defaultTenant;
+        tenants = tenants == null ? Map.of() : Map.copyOf(tenants);
+        overflow = Math.max(0, overflow);
+    }
+
+    public static AxFlowBulkheadProperties disabled() {
+        return new AxFlowBulkheadProperties(false, null, null, 0);
+    }
+
+    /**
+     * 单个租户的舱壁。
+     *
+     * @param maxConcurrent 最大在途请求数；{@code <= 0} 表示不限
+     * @param maxWait       舱壁已满时的最长排队时间；null 或 0 表示不排队、立即拒绝
+     */
+    public record Compartment(int maxConcurrent, Duration maxWait) {
+
+        public static final Compartment UNBOUNDED = new Compartment(0, null);
+
+        public boolean unbounded() {
+            return maxConcurrent <= 0;
+        }
+
+        long maxWaitNanos() {
+            return maxWait == null ? 0L : maxWait.toNanos();
+        }
+    }
+}
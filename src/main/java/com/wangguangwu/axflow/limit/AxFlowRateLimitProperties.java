@@ -0,0 +1,54 @@
+package com.wangguangwu.axflow.limit;
+
+import java.util.Map;
+
+/**
+ * 限流配置（前缀 {@code axflow.rate-limit}），运行时变更需调用 {@link AxFlowRateLimiter#reload()} 重新绑定。
+ *
+ * <pre>
+ * axflow:
+ *   rate-limit:
+ *     enabled: true
+ *     default-tenant: { rate: 200, burst: 400 }     # 未单独配置的租户（每租户独立令牌桶）
+ *     tenants:
+ *       TenantA: { rate: 500, burst: 1000 }
+ *     routes:                                       # 按 @AxFlow 路由（类简单名#方法名），每租户独立令牌桶
+ *       "[PaymentController#submitPayment]": { rate: 100, burst: 100 }
+ * </pre>
+ *
+ * @param enabled       是否启用
+ * @param defaultTenant 未单独配置的租户使用的限额；未登记的租户共用一个该限额的令牌桶
+ * @param tenants       租户 → 限额
+ * @param routes        路由 → 限额（对每个租户分别生效）
+ * @author wangguangwu
+ */
+public record AxFlowRateLimitProperties(boolean enabled,
+                                        Limit defaultTenant,
+                                        Map<String, Limit> tenants,
+                                        Map<String, Limit> routes) {
+
+    public AxFlowRateLimitProperties {
+        defaultTenant = defaultTenant == null ? Limit.UNLIMITED : defaultTenant;
+        tenants = tenants == null ? Map.of() : Map.copyOf(tenants);
+        routes = routes == null ? Map.of() : Map.copyOf(routes);
+    }
+
+    public static AxFlowRateLimitProperties disabled() {
+        return new AxFlowRateLimitProperties(false, null, null, null);
+    }
+
+    /**
+     * 单个令牌桶的限额。
+     *
+     * @param rate  每秒补充的令牌数；{@code <= 0} 表示不限流
+     * @param burst 桶容量（允许的突发请求数）；{@code <= 0} 时取 max(1, rate)
+     */
+    public record Limit(double rate, int burst) {
+
+        public static final Limit UNLIMITED = new Limit(0, 0);
+
+        public boolean unlimited() {
+            return rate <= 0;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.wangguangwu.axflow.limit;
+
+import com.wangguangwu.axflow.context.TenantId;
+import com.wangguangwu.axflow.metrics.AxFlowMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 按租户、按 @AxFlow 路由的令牌桶限流（在 {@code TenantInterceptor} 中执行）。
+ *
+ * <ul>
+ *   <li>租户维度：每个租户独立的令牌桶（{@code tenants} 单独配置，否则使用 {@code default-tenant}）；</li>
+ *   <li>路由维度：{@code routes} 中配置的路由，对每个租户再各自限流；</li>
+ *   <li>令牌桶为无锁 GCRA（每次请求一次 CAS），按租户序号分片存放，租户之间互不争用。</li>
+ * </ul>
+ *
+ * <p>{@code tenants} 中配置的租户在应用配置时即被登记（{@link TenantId#intern}），即使没有声明 {@code @AxFlowModel}
+ * 也拥有独立的令牌桶；只有既未登记也未配置的租户才共用 {@code default-tenant} 限额的共享桶。</p>
+ *
+ * <p>配置快照不可变、整体替换：{@link #reload()} 在启动时从 Environment 绑定 {@code axflow.rate-limit}；
+ * 框架不监听配置刷新，运行时变更需由应用在刷新 Environment 后调用 {@link #reload()}，
+ * 或直接调用 {@link #update(AxFlowRateLimitProperties)}；限额未变化的令牌桶保留原状态。</p>
+ *
+ * @author wangguangwu
+ */
+@Slf4j
+@Component
+public class AxFlowRateLimiter {
+
+    static final String PREFIX = "axflow.rate-limit";
+    static final String TENANT_SCOPE = "tenant";
+
+    private final Environment environment;
+    private final AxFlowMetrics metrics;
+
+    private volatile Snapshot snapshot = new Snapshot(AxFlowRateLimitProperties.disabled(), null, Map.of());
+
+    public AxFlowRateLimiter(Environment environment, AxFlowMetrics metrics) {
+        this.environment = environment;
+        this.metrics = metrics;
+    }
+
+    private record Snapshot(AxFlowRateLimitProperties properties,
+                            BucketLane tenantLane,
+                            Map<String, BucketLane> routeLanes) {
+    }
+
+    /**
+     * 从 Environment 重新绑定并应用限流配置。
+     */
+    @PostConstruct
+    public void reload() {
+        update(Binder.get(environment)
+                .bind(PREFIX, AxFlowRateLimitProperties.class)
+                .orElseGet(AxFlowRateLimitProperties::disabled));
+    }
+
+    /**
+     * 应用新的限流配置；{@code tenants} 中的租户先登记，保证按租户序号拥有独立的令牌桶。
+     */
+    public synchronized void update(AxFlowRateLimitProperties properties) {
+        Snapshot prev = snapshot;
+        if (!properties.enabled()) {
+            snapshot = new Snapshot(properties, null, Map.of());
+            log.info("AxFlow 限流: 未启用");
+            return;
+        }
+        properties.tenants().keySet().forEach(TenantId::intern);
+        BucketLane tenantLane = new BucketLane(TENANT_SCOPE,
+                t -> properties.tenants().getOrDefault(t, properties.defaultTenant()),
+                properties.defaultTenant(), prev.tenantLane());
+        Map<String, BucketLane> routeLanes = new HashMap<>();
+        properties.routes().forEach((route, limit) -> {
+            if (!limit.unlimited()) {
+                routeLanes.put(route, new BucketLane(route, t -> limit, limit, prev.routeLanes().get(route)));
+            }
+        });
+        snapshot = new Snapshot(properties, tenantLane, Map.copyOf(routeLanes));
+        log.info("AxFlow 限流: default={}, tenants={}, routes={}",
+                properties.defaultTenant(), properties.tenants().size(), routeLanes.keySet());
+    }
+
+    public AxFlowRateLimitProperties properties() {
+        return snapshot.properties();
+    }
+
+    public boolean enabled() {
+        return snapshot.properties().enabled();
+    }
+
+    /**
+     * 尝试为一次请求获取令牌：先租户维度，再路由维度。
+     *
+     * @param route 路由标识；非 @AxFlow 请求传 null
+     * @return 放行返回 null，否则返回触发限流的维度（"tenant" 或路由标识）
+     */
+    public @Nullable String tryAcquire(TenantId tenant, @Nullable String route) {
+        Snapshot s = snapshot;
+        if (s.tenantLane() == null) {
+            return null;
+        }
+        long now = System.nanoTime();
+        if (!s.tenantLane().tryAcquire(tenant, now)) {
+            metrics.rateLimited(tenant, TENANT_SCOPE);
+            return TENANT_SCOPE;
+        }
+        if (route != null) {
+            BucketLane lane = s.routeLanes().get(route);
+            if (lane != null && !lane.tryAcquire(tenant, now)) {
+                metrics.rateLimited(tenant, lane.scope());
+                return lane.scope();
+            }
+        }
+        return null;
+    }
+}
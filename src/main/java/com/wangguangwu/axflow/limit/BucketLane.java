@@ -0,0 +1,93 @@
+package com.wangguangwu.axflow.limit;
+
+import com.wangguangwu.axflow.context.TenantId;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * 一组按租户隔离的令牌桶：已登记租户（含 {@code tenants} 中单独配置的租户，见 {@link AxFlowRateLimiter#update}）
+ * 按 {@link TenantId#ordinal()} 数组寻址（懒创建）；既未登记也未配置的租户共用一个桶，避免伪造的租户头撑大状态。
+ *
+ * @author wangguangwu
+ */
+final class BucketLane {
+
+    /**
+     * 不限流的占位桶
+     */
+    private static final GcraBucket UNLIMITED = new GcraBucket("", new AxFlowRateLimitProperties.Limit(1, 1));
+
+    private final String scope;
+    private final Function<String, AxFlowRateLimitProperties.Limit> limitOf;
+    private final GcraBucket unknown;
+    private volatile AtomicReferenceArray<GcraBucket> byOrdinal;
+
+    /**
+     * @param scope    维度（"tenant" 或路由标识），用于指标与日志
+     * @param limitOf  租户 → 限额
+     * @param previous 热更新前的同维度车道；限额未变化的桶会被沿用，避免重载时重置状态
+     */
+    BucketLane(String scope, Function<String, AxFlowRateLimitProperties.Limit> limitOf,
+               AxFlowRateLimitProperties.Limit unknownLimit, BucketLane previous) {
+        this.scope = scope;
+        this.limitOf = limitOf;
+        this.unknown = reuseOrCreate(previous == null ? null : previous.unknown, "", unknownLimit);
+        AtomicReferenceArray<GcraBucket> arr = new AtomicReferenceArray<>(Math.max(16, TenantId.ordinalCount()));
+        if (previous != null) {
+            AtomicReferenceArray<GcraBucket> old = previous.byOrdinal;
+            for (int i = 0; i < old.length() && i < arr.length(); i++) {
+                GcraBucket b = old.get(i);
+                if (b != null && b != UNLIMITED && b.limit.equals(limitOf.apply(b.key))) {
+                    arr.set(i, b);
+                }
+            }
+        }
+        this.byOrdinal = arr;
+    }
+
+    String scope() {
+        return scope;
+    }
+
+    boolean tryAcquire(TenantId tenant, long now) {
+        if (!tenant.isKnown()) {
+            return unknown == UNLIMITED || unknown.tryAcquire(now);
+        }
+        int ordinal = tenant.ordinal();
+        AtomicReferenceArray<GcraBucket> arr = byOrdinal;
+        if (ordinal >= arr.length()) {
+            arr = grow(ordinal);
+        }
+        GcraBucket b = arr.get(ordinal);
+        if (b == null) {
+            GcraBucket created = reuseOrCreate(null, tenant.value(), limitOf.apply(tenant.value()));
+            b = arr.compareAndSet(ordinal, null, created) ? created : arr.get(ordinal);
+        }
+        return b == UNLIMITED || b.tryAcquire(now);
+    }
+
+    private synchronized AtomicReferenceArray<GcraBucket> grow(int ordinal) {
+        AtomicReferenceArray<GcraBucket> old = byOrdinal;
+        if (ordinal < old.length()) {
+            return old;
+        }
+        AtomicReferenceArray<GcraBucket> arr =
+                new AtomicReferenceArray<>(Math.max(ordinal + 1, Math.max(old.length() * 2, TenantId.ordinalCount())));
+        for (int i = 0; i < old.length(); i++) {
+            arr.set(i, old.get(i));
+        }
+        byOrdinal = arr;
+        return arr;
+    }
+
+    private static GcraBucket reuseOrCreate(GcraBucket previous, String key, AxFlowRateLimitProperties.Limit limit) {
+        if (limit.unlimited()) {
+            return UNLIMITED;
+        }
+        if (previous != null && previous != UNLIMITED && previous.limit.equals(limit)) {
+            return previous;
+        }
+        return new GcraBucket(key, limit);
+    }
+}
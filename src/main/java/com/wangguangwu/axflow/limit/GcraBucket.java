@@ -0,0 +1,68 @@
+package com.wangguangwu.axflow.limit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 无锁令牌桶（GCRA，通用信元速率算法）：整个桶状态只有一个"理论到达时间"（TAT），
+ * 每次请求一次 CAS，高并发下依旧精确，不会因为分片而放大突发。
+ *
+ * @author wangguangwu
+ */
+final class GcraBucket {
+
+    final String key;
+    final AxFlowRateLimitProperties.Limit limit;
+
+    /**
+     * 令牌发放间隔（纳秒）
+     */
+    private final long emissionNanos;
+
+    /**
+     * 允许的突发窗口（纳秒）= 间隔 × 桶容量
+     */
+    private final long toleranceNanos;
+
+    private final AtomicLong tat = new AtomicLong();
+
+    /**
+     * TAT 是否已由第一次请求初始化；nanoTime 的任何取值都可能出现，不能用特殊值表示"未设置"
+     */
+    private volatile boolean started;
+
+    GcraBucket(String key, AxFlowRateLimitProperties.Limit limit) {
+        this.key = key;
+        this.limit = limit;
+        this.emissionNanos = Math.max(1L, (long) (1_000_000_000d / limit.rate()));
+        int burst = limit.burst() > 0 ? limit.burst() : (int) Math.max(1, Math.ceil(limit.rate()));
+        this.toleranceNanos = emissionNanos * burst;
+    }
+
+    boolean tryAcquire(long now) {
+        if (!started) {
+            start(now);
+        }
+        for (; ; ) {
+            long cur = tat.get();
+            // nanoTime 可能溢出回绕，只比较差值
+            long base = cur - now < 0 ? now : cur;
+            long next = base + emissionNanos;
+            if (next - now > toleranceNanos) {
+                return false;
+            }
+            if (tat.compareAndSet(cur, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 空桶的 TAT 取当前时刻（可用完整突发）；先写 TAT 再发布标志，看到标志的线程必然看到初始值。
+     */
+    private synchronized void start(long now) {
+        if (!started) {
+            tat.set(now);
+            started = true;
+        }
+    }
+}
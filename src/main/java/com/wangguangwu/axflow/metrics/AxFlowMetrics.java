@@ -0,0 +1,267 @@
+package com.wangguangwu.axflow.metrics;
+
+import com.wangguangwu.axflow.context.TenantContext;
+import com.wangguangwu.axflow.context.TenantId;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+/**
+ * AxFlow 管道的分阶段指标（Micrometer）。
+ *
+ * <ul>
+ *   <li>{@code axflow.stage}（Timer）：各阶段耗时与吞吐，标签 stage / base / subtype / tenant</li>
+ *   <li>{@code axflow.route.fallback}（Counter）：未找到子类映射、回退到 baseType 反序列化的次数</li>
+ *   <li>{@code axflow.acl.rejected}（Counter）：被 @AxFlow 白名单/黑名单拒绝的次数</li>
+ *   <li>{@code axflow.ratelimit.rejected}（Counter）：被限流拒绝的次数，标签 scope（tenant 或路由）/ tenant</li>
+ *   <li>{@code axflow.bulkhead.active} / {@code axflow.bulkhead.queued}（Gauge）与 {@code axflow.bulkhead.rejected}（Counter）：
+ *       按租户的舱壁在途数、排队数与拒绝次数</li>
+ *   <li>{@code axflow.adaptive.limit} / {@code axflow.adaptive.inflight}（Gauge）与 {@code axflow.adaptive.shed}（Counter）：
+ *       自适应并发上限、当前在途数与被削减的请求数（标签 priority / tenant）</li>
+ *   <li>{@code axflow.idempotency}（Counter）：幂等方法的请求结果，标签 outcome（hit / coalesced / miss / conflict）/ tenant</li>
+ * </ul>
+ *
+ * <p>租户标签基数有上限：只有已登记的租户（{@link TenantId#isKnown()}）会作为标签值，
+ * 且最多 {@code axflow.metrics.max-tenant-tags} 个，其余归入 {@code other}；未知租户统一记为 {@code unknown}。</p>
+ *
+ * <p>未启用（{@code axflow.metrics.enabled=false} 或容器中没有 MeterRegistry）时，
+ * 所有埋点方法在一次布尔判断后直接返回，不读时钟、不分配对象。</p>
+ *
+ * @author wangguangwu
+ */
+@Component
+public class AxFlowMetrics {
+
+    static final String OTHER = "other";
+    static final String UNKNOWN = "unknown";
+    static final String NONE = "none";
+
+    /**
+     * 管道阶段
+     */
+    public enum Stage {
+        BODY_READ("body_read"),
+        ROUTE("route"),
+        DESERIALIZE("deserialize"),
+        BEAN_VALIDATION("bean_validation"),
+        CUSTOM_VALIDATION("custom_validation");
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final MeterRegistry registry;
+    private final boolean enabled;
+    private final int maxTenantTags;
+
+    private final Set<String> taggedTenants = ConcurrentHashMap.newKeySet();
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<CounterKey, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<ScopedKey, Counter> scopedCounters = new ConcurrentHashMap<>();
+
+    public AxFlowMetrics(ObjectProvider<MeterRegistry> registry,
+                         @Value("${axflow.metrics.enabled:true}") boolean enabled,
+                         @Value("${axflow.metrics.max-tenant-tags:100}") int maxTenantTags) {
+        this.registry = enabled ? registry.getIfAvailable() : null;
+        this.enabled = this.registry != null;
+        this.maxTenantTags = maxTenantTags;
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    /**
+     * 阶段开始时间；未启用时返回 0 且不读时钟。
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * 记录阶段耗时（从 {@link #start()} 起算），租户取自 {@link TenantContext}。
+     *
+     * @param subtype 已解析的目标子类；阶段发生在路由之前时传 null
+     */
+    public void record(Stage stage, Class<?> baseType, Class<?> subtype, long startNanos) {
+        if (!enabled) {
+            return;
+        }
+        long elapsed = System.nanoTime() - startNanos;
+        TimerKey key = new TimerKey(stage, baseType, subtype, tenantTag(TenantContext.getTenant()));
+        timers.computeIfAbsent(key, k -> Timer.builder("axflow.stage")
+                        .description("AxFlow 管道各阶段耗时")
+                        .tag("stage", k.stage().tag)
+                        .tag("base", k.baseType().getSimpleName())
+                        .tag("subtype", k.subtype() == null ? NONE : k.subtype().getSimpleName())
+                        .tag("tenant", k.tenant())
+                        .register(registry))
+                .record(elapsed, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 路由未命中，回退到 baseType。
+     */
+    public void routeFallback(Class<?> baseType) {
+        if (enabled) {
+            count("axflow.route.fallback", baseType, TenantContext.getTenant());
+        }
+    }
+
+    /**
+     * 租户被 @AxFlow 访问控制拒绝。
+     */
+    public void aclRejected(Class<?> baseType, TenantId tenant) {
+        if (enabled) {
+            count("axflow.acl.rejected", baseType, tenant);
+        }
+    }
+
+    /**
+     * 请求被限流拒绝。
+     *
+     * @param scope 触发限流的维度（"tenant" 或路由标识，基数受配置约束）
+     */
+    public void rateLimited(TenantId tenant, String scope) {
+        if (enabled) {
+            scopedCounters.computeIfAbsent(new ScopedKey("axflow.ratelimit.rejected", scope, tenantTag(tenant)),
+                            k -> Counter.builder(k.name())
+                                    .tag("scope", k.scope())
+                                    .tag("tenant", k.tenant())
+                                    .register(registry))
+                    .increment();
+        }
+    }
+
+    /**
+     * 租户舱壁已满且排队超时。
+     */
+    public void bulkheadRejected(TenantId tenant) {
+        if (enabled) {
+            scopedCounters.computeIfAbsent(new ScopedKey("axflow.bulkhead.rejected", NONE, tenantTag(tenant)),
+                            k -> Counter.builder(k.name())
+                                    .tag("tenant", k.tenant())
+                                    .register(registry))
+                    .increment();
+        }
+    }
+
+    /**
+     * 注册租户舱壁的在途数/排队数 Gauge（每个租户只调用一次）。
+     * 超出租户标签上限的租户不注册，避免多个租户共用 other 标签时数值互相覆盖。
+     *
+     * @param tenant 租户；null 表示未登记租户共用的舱壁
+     */
+    public void bulkheadGauges(TenantId tenant, AtomicInteger active, AtomicInteger queued) {
+        if (!enabled) {
+            return;
+        }
+        String tag = tenantTag(tenant);
+        if (OTHER.equals(tag)) {
+            return;
+        }
+        Gauge.builder("axflow.bulkhead.active", active, AtomicInteger::get)
+                .description("租户舱壁在途请求数")
+                .tag("tenant", tag)
+                .register(registry);
+        Gauge.builder("axflow.bulkhead.queued", queued, AtomicInteger::get)
+                .description("租户舱壁排队请求数")
+                .tag("tenant", tag)
+                .register(registry);
+    }
+
+    /**
+     * 注册自适应并发限制的上限/在途 Gauge。
+     */
+    public void adaptiveGauges(IntSupplier limit, AtomicInteger inflight) {
+        if (!enabled) {
+            return;
+        }
+        Gauge.builder("axflow.adaptive.limit", limit, IntSupplier::getAsInt)
+                .description("自适应并发上限")
+                .strongReference(true)
+                .register(registry);
+        Gauge.builder("axflow.adaptive.inflight", inflight, AtomicInteger::get)
+                .description("自适应并发限制下的在途请求数")
+                .register(registry);
+    }
+
+    /**
+     * 请求被自适应并发限制削减。
+     */
+    public void adaptiveShed(TenantId tenant, String priority) {
+        if (enabled) {
+            scopedCounters.computeIfAbsent(new ScopedKey("axflow.adaptive.shed", priority, tenantTag(tenant)),
+                            k -> Counter.builder(k.name())
+                                    .tag("priority", k.scope())
+                                    .tag("tenant", k.tenant())
+                                    .register(registry))
+                    .increment();
+        }
+    }
+
+    /**
+     * 幂等方法的请求结果。
+     *
+     * @param outcome hit（回放缓存）/ coalesced（等待同键请求后回放）/ miss（执行处理方法）/ conflict（等待超时）
+     */
+    public void idempotency(TenantId tenant, String outcome) {
+        if (enabled) {
+            scopedCounters.computeIfAbsent(new ScopedKey("axflow.idempotency", outcome, tenantTag(tenant)),
+                            k -> Counter.builder(k.name())
+                                    .tag("outcome", k.scope())
+                                    .tag("tenant", k.tenant())
+                                    .register(registry))
+                    .increment();
+        }
+    }
+
+    private void count(String name, Class<?> baseType, TenantId tenant) {
+        CounterKey key = new CounterKey(name, baseType, tenantTag(tenant));
+        counters.computeIfAbsent(key, k -> Counter.builder(k.name())
+                        .tag("base", k.baseType().getSimpleName())
+                        .tag("tenant", k.tenant())
+                        .register(registry))
+                .increment();
+    }
+
+    /**
+     * 有界的租户标签：先到先得，超过上限的已登记租户归入 other。
+     */
+    String tenantTag(TenantId tenant) {
+        if (tenant == null || !tenant.isKnown()) {
+            return UNKNOWN;
+        }
+        String v = tenant.value();
+        if (taggedTenants.contains(v)) {
+            return v;
+        }
+        if (taggedTenants.size() < maxTenantTags && taggedTenants.add(v)) {
+            return v;
+        }
+        return taggedTenants.contains(v) ? v : OTHER;
+    }
+
+    private record TimerKey(Stage stage, Class<?> baseType, Class<?> subtype, String tenant) {
+    }
+
+    private record CounterKey(String name, Class<?> baseType, String tenant) {
+    }
+
+    private record ScopedKey(String name, String scope, String tenant) {
+    }
+}
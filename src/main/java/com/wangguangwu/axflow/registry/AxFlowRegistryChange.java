@@ -0,0 +1,25 @@
+package com.wangguangwu.axflow.registry;
+
+import java.util.List;
+
+/**
+ * 路由表变更（差异）：一次运行时登记/注销/增量扫描后，新旧快照之间的映射差异。
+ * <p>非空变更在快照发布后作为应用事件广播，便于下游（如 ObjectReader 缓存）预热。</p>
+ *
+ * @param version 变更后的快照版本；无变更时为当前版本
+ * @param added   新增的映射
+ * @param removed 移除的映射
+ * @author wangguangwu
+ */
+public record AxFlowRegistryChange(long version, List<Mapping> added, List<Mapping> removed) {
+
+    /**
+     * 单条映射：(baseType, tenantId, discriminator) -> subtype；discriminator 为空串表示该租户的默认子类。
+     */
+    public record Mapping(Class<?> baseType, String tenantId, String discriminator, Class<?> subtype) {
+    }
+
+    public boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty();
+    }
+}
@@ -1,32 +1,50 @@
 package com.wangguangwu.axflow.registry;
 
+import com.wangguangwu.axflow.annotation.AxFlowDiscriminator;
 import com.wangguangwu.axflow.annotation.AxFlowModel;
+import com.wangguangwu.axflow.context.TenantId;
+import com.wangguangwu.axflow.index.AxFlowModelIndex;
 import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.StringUtils;
 
+import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 /**
- * 扫描 @AxFlowModel 并建立 (baseType, tenantId) -> SubtypeMeta 的只读映射表。
+ * 扫描 @AxFlowModel 并建立 (baseType, tenantId[, 判别值]) -> SubtypeMeta 的只读映射表。
+ * 启动时优先加载构建期索引（{@link AxFlowModelIndex}），索引缺失时才回退到类路径扫描。
  * 线程安全要点：
  * 1) 构建阶段使用局部可变结构（不对外暴露）
  * 2) 构建完成后深度“冻结”为不可变 Map
  * 3) 通过 AtomicReference 原子发布快照，读者始终读取一致视图
+ * 4) 快照同时按租户序号（{@link TenantId#ordinal()}）展开为稠密数组，路由只需一次数组寻址
+ * 5) 支持运行时登记/注销/增量扫描：写者串行计算差异，仅对变化的 baseType 写时复制，发布带版本号的新快照
  * <p>
  * baseType 计算规则（可选显式、默认智能）：
  * - 若注解 base() 非 Void.class：使用注解指定值，并校验子类关系；
  * - 否则：沿 superclass 向上取“最顶层非 Object 父类”；若无非 Object 父类，则使用当前类自身。
+ * <p>
+ * 判别值（{@link AxFlowModel#discriminator()}）：基类标注 {@link AxFlowDiscriminator} 时，子类可按判别值细分；
+ * 未声明判别值的子类作为该租户的默认子类，判别值未命中时回退到它。
  *
  * @author wangguangwu
  */
 @Component
+@Slf4j
 public class AxFlowSubtypeRegistry {
 
     /**
@@ -35,18 +53,73 @@ public class AxFlowSubtypeRegistry {
     public record SubtypeMeta(Class<?> subtype) {
     }
 
+    /**
+     * 未声明判别值
+     */
+    public static final String NO_DISCRIMINATOR = "";
+
+    /**
+     * 路由键：租户 + 判别值（{@link #NO_DISCRIMINATOR} 表示该租户的默认子类）
+     */
+    public record RouteKey(String tenantId, String discriminator) {
+
+        @Override
+        public String toString() {
+            return discriminator.isEmpty() ? tenantId : tenantId + "/" + discriminator;
+        }
+    }
+
     /**
      * 配置的扫描包（逗号分隔）
      */
     private final List<String> scanBasePackages;
 
+    /**
+     * 路由表快照（不可变）。
+     *
+     * @param version 快照版本，每次发布递增
+     * @param table   (baseType, RouteKey) -> SubtypeMeta，按字符串查询/诊断用
+     * @param routes  baseType -> 按租户序号展开的路由，热路径只做一次（带判别值时两次）查找
+     */
+    private record Snapshot(long version,
+                            Map<Class<?>, Map<RouteKey, SubtypeMeta>> table,
+                            Map<Class<?>, Routes> routes) {
+    }
+
+    /**
+     * 单个 baseType 的路由数组。
+     *
+     * @param byTenant        以 {@link TenantId#ordinal()} 为下标的默认子类
+     * @param byDiscriminator 判别值 -> 以租户序号为下标的子类；基类未使用判别值时为空 Map
+     */
+    private record Routes(SubtypeMeta[] byTenant, Map<String, SubtypeMeta[]> byDiscriminator) {
+    }
+
     /**
      * 原子保存“当前生效”的不可变路由表快照
      */
-    private final AtomicReference<Map<Class<?>, Map<String, SubtypeMeta>>> tableRef =
-            new AtomicReference<>(Map.of());
+    private final AtomicReference<Snapshot> tableRef =
+            new AtomicReference<>(new Snapshot(0L, Map.of(), Map.of()));
 
-    public AxFlowSubtypeRegistry(@Value("${axflow.scan-base-packages:}") String scanPkgs) {
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * 是否优先加载构建期索引；以及加载索引后是否再扫描一次做一致性比对（仅用于排查）
+     */
+    private final boolean useIndex;
+    private final boolean verifyIndex;
+
+    /**
+     * 并行扫描的并行度：≤ 1 表示顺序扫描
+     */
+    private final int scanParallelism;
+
+    public AxFlowSubtypeRegistry(@Value("${axflow.scan-base-packages:}") String scanPkgs,
+                                 @Value("${axflow.model-index.enabled:true}") boolean useIndex,
+                                 @Value("${axflow.model-index.verify:false}") boolean verifyIndex,
+                                 @Value("${axflow.parallel-scan.enabled:false}") boolean parallelScan,
+                                 @Value("${axflow.parallel-scan.parallelism:0}") int parallelism,
+                                 ApplicationEventPublisher eventPublisher) {
         if (StringUtils.hasText(scanPkgs)) {
             this.scanBasePackages = Arrays.stream(scanPkgs.split(","))
                     .map(String::trim)
@@ -57,49 +130,307 @@ public class AxFlowSubtypeRegistry {
             // 默认示例包路径（按需修改）
             this.scanBasePackages = List.of("com.wangguangwu.axflow.sample.model");
         }
+        this.useIndex = useIndex;
+        this.verifyIndex = verifyIndex;
+        this.scanParallelism = !parallelScan ? 1
+                : parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.eventPublisher = eventPublisher;
     }
 
     /**
-     * 容器启动后执行一次：扫描 → 构建路由表 → 冻结 → 原子发布
+     * 容器启动后执行一次：加载索引（索引未覆盖的包回退扫描）→ 构建路由表 → 冻结 → 原子发布
      */
     @PostConstruct
     public void init() {
-        Map<Class<?>, Map<String, SubtypeMeta>> built = buildMutableTable(scanBasePackages);
+        long start = System.nanoTime();
+        List<String> unindexed = new ArrayList<>(scanBasePackages);
+        Map<Class<?>, Map<RouteKey, SubtypeMeta>> built = useIndex ? buildFromIndex(scanBasePackages, unindexed) : null;
+        long indexNanos = System.nanoTime() - start;
+
+        if (built == null) {
+            start = System.nanoTime();
+            built = buildMutableTable(scanBasePackages);
+            log.info("AxFlow 路由表来源: 类路径扫描, 耗时 {} ms, 基类 {} 个", millis(System.nanoTime() - start), built.size());
+        } else if (!unindexed.isEmpty()) {
+            start = System.nanoTime();
+            Map<Class<?>, Map<RouteKey, SubtypeMeta>> scanned = buildMutableTable(unindexed);
+            for (var base : scanned.entrySet()) {
+                for (var route : base.getValue().entrySet()) {
+                    mergeKey(built, base.getKey(), route.getKey(), route.getValue());
+                }
+            }
+            log.info("AxFlow 路由表来源: 构建期索引 {} ms + 类路径扫描 {} ms（索引未覆盖: {}）, 基类 {} 个",
+                    millis(indexNanos), millis(System.nanoTime() - start), unindexed, built.size());
+        } else {
+            log.info("AxFlow 路由表来源: 构建期索引, 耗时 {} ms, 基类 {} 个", millis(indexNanos), built.size());
+            if (verifyIndex) {
+                start = System.nanoTime();
+                Map<Class<?>, Map<RouteKey, SubtypeMeta>> scanned = buildMutableTable(scanBasePackages);
+                log.info("AxFlow 索引校验: 索引 {} ms / 扫描 {} ms", millis(indexNanos), millis(System.nanoTime() - start));
+                if (!scanned.equals(built)) {
+                    log.warn("AxFlow 索引与扫描结果不一致（索引可能已过期），以扫描结果为准");
+                    built = scanned;
+                }
+            }
+        }
 
-        // 深度不可变化（两层 Map 都不可变）
-        Map<Class<?>, Map<String, SubtypeMeta>> frozen = built.entrySet().stream()
-                .collect(Collectors.toUnmodifiableMap(
-                        Map.Entry::getKey,
-                        e -> Map.copyOf(e.getValue())
-                ));
+        // 原子发布快照（启动期不广播事件）
+        publish(built, false);
+    }
 
-        // 原子发布快照
-        tableRef.set(frozen);
+    /**
+     * 热路径解析：按 baseType 取路由数组，再以租户序号直接寻址；未命中返回 null。
+     */
+    public @Nullable SubtypeMeta route(Class<?> baseType, TenantId tenant) {
+        Routes routes = tableRef.get().routes().get(baseType);
+        return routes == null ? null : at(routes.byTenant(), tenant);
+    }
+
+    /**
+     * 按判别值解析：先查 (租户, 判别值)，未命中时回退到该租户的默认子类；都未命中返回 null。
+     *
+     * @param discriminator 请求体中的判别值；null 表示未携带
+     */
+    public @Nullable SubtypeMeta route(Class<?> baseType, TenantId tenant, @Nullable String discriminator) {
+        Routes routes = tableRef.get().routes().get(baseType);
+        if (routes == null) {
+            return null;
+        }
+        if (discriminator != null) {
+            SubtypeMeta meta = at(routes.byDiscriminator().get(discriminator), tenant);
+            if (meta != null) {
+                return meta;
+            }
+        }
+        return at(routes.byTenant(), tenant);
+    }
+
+    private static @Nullable SubtypeMeta at(@Nullable SubtypeMeta[] byTenant, TenantId tenant) {
+        int ordinal = tenant.ordinal();
+        if (byTenant == null || ordinal < 0 || ordinal >= byTenant.length) {
+            return null;
+        }
+        return byTenant[ordinal];
     }
 
     /**
      * 解析：先用 baseType 找到该 base 的租户映射，再取 tenantId 对应的子类元信息
      */
     public Optional<SubtypeMeta> resolve(Class<?> baseType, String tenantId) {
-        Map<Class<?>, Map<String, SubtypeMeta>> snapshot = tableRef.get();
-        Map<String, SubtypeMeta> m = snapshot.get(baseType);
-        if (m == null) {
-            return Optional.empty();
+        return Optional.ofNullable(route(baseType, TenantId.of(tenantId)));
+    }
+
+    /**
+     * 当前快照版本。
+     */
+    public long version() {
+        return tableRef.get().version();
+    }
+
+    /**
+     * 当前快照中所有已登记的基类。
+     */
+    public Set<Class<?>> baseTypes() {
+        return tableRef.get().table().keySet();
+    }
+
+    /**
+     * 当前快照中所有已登记的子类（去重）。
+     */
+    public Set<Class<?>> subtypes() {
+        return tableRef.get().table().values().stream()
+                .flatMap(m -> m.values().stream())
+                .map(SubtypeMeta::subtype)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    // ===================== 运行时变更（写者串行，读者无锁） =====================
+
+    /**
+     * 运行时登记 (baseType, tenantId) -> subtype；与已有不同子类的映射冲突时抛出异常。
+     */
+    public AxFlowRegistryChange register(Class<?> baseType, String tenantId, Class<?> subtype) {
+        return register(baseType, tenantId, null, subtype);
+    }
+
+    /**
+     * 运行时登记 (baseType, tenantId, 判别值) -> subtype；判别值为空时等同于 {@link #register(Class, String, Class)}。
+     */
+    public synchronized AxFlowRegistryChange register(Class<?> baseType, String tenantId,
+                                                      @Nullable String discriminator, Class<?> subtype) {
+        if (!baseType.isAssignableFrom(subtype)) {
+            throw new IllegalArgumentException("子类 %s 不是 base %s 的子类型"
+                    .formatted(subtype.getName(), baseType.getName()));
+        }
+        RouteKey key = new RouteKey(normalizeTenant(tenantId), normalizeDiscriminator(discriminator));
+        Map<RouteKey, SubtypeMeta> inner = new LinkedHashMap<>(
+                tableRef.get().table().getOrDefault(baseType, Map.of()));
+        Map<Class<?>, Map<RouteKey, SubtypeMeta>> changed = new LinkedHashMap<>();
+        changed.put(baseType, inner);
+        mergeKey(changed, baseType, key, new SubtypeMeta(subtype));
+        return publish(changed, true);
+    }
+
+    /**
+     * 运行时注销 (baseType, tenantId) 的默认映射；不存在时返回空变更。
+     */
+    public AxFlowRegistryChange unregister(Class<?> baseType, String tenantId) {
+        return unregister(baseType, tenantId, null);
+    }
+
+    /**
+     * 运行时注销 (baseType, tenantId, 判别值) 的映射；不存在时返回空变更。
+     */
+    public synchronized AxFlowRegistryChange unregister(Class<?> baseType, String tenantId,
+                                                        @Nullable String discriminator) {
+        RouteKey key = new RouteKey(normalizeTenant(tenantId), normalizeDiscriminator(discriminator));
+        Map<RouteKey, SubtypeMeta> current = tableRef.get().table().get(baseType);
+        if (current == null || !current.containsKey(key)) {
+            return new AxFlowRegistryChange(version(), List.of(), List.of());
+        }
+        Map<RouteKey, SubtypeMeta> inner = new LinkedHashMap<>(current);
+        inner.remove(key);
+        Map<Class<?>, Map<RouteKey, SubtypeMeta>> changed = new LinkedHashMap<>();
+        changed.put(baseType, inner);
+        return publish(changed, true);
+    }
+
+    /**
+     * 运行时增量扫描新增的包，并与当前路由表合并（沿用冲突检测）。
+     */
+    public synchronized AxFlowRegistryChange scanPackages(String... basePackages) {
+        List<String> pkgs = Arrays.stream(basePackages)
+                .map(String::trim)
+                .filter(p -> !p.isEmpty())
+                .distinct()
+                .toList();
+        Map<Class<?>, Map<RouteKey, SubtypeMeta>> scanned = buildMutableTable(pkgs);
+
+        Map<Class<?>, Map<RouteKey, SubtypeMeta>> changed = new LinkedHashMap<>();
+        for (var e : scanned.entrySet()) {
+            Class<?> baseType = e.getKey();
+            changed.put(baseType, new LinkedHashMap<>(tableRef.get().table().getOrDefault(baseType, Map.of())));
+            for (var t : e.getValue().entrySet()) {
+                mergeKey(changed, baseType, t.getKey(), t.getValue());
+            }
+        }
+        return publish(changed, true);
+    }
+
+    /**
+     * 计算差异并发布新快照：只为发生变化的 baseType 重建内层 Map 与路由数组，其余沿用旧快照的引用。
+     *
+     * @param changed  发生变化的 baseType 的完整新内层映射；空映射表示移除该 baseType
+     * @param announce 是否广播变更事件
+     */
+    private AxFlowRegistryChange publish(Map<Class<?>, Map<RouteKey, SubtypeMeta>> changed, boolean announce) {
+        Snapshot cur = tableRef.get();
+        List<AxFlowRegistryChange.Mapping> added = new ArrayList<>();
+        List<AxFlowRegistryChange.Mapping> removed = new ArrayList<>();
+        Map<Class<?>, Map<RouteKey, SubtypeMeta>> table = new HashMap<>(cur.table());
+        Map<Class<?>, Routes> routes = new HashMap<>(cur.routes());
+
+        for (var e : changed.entrySet()) {
+            Class<?> baseType = e.getKey();
+            Map<RouteKey, SubtypeMeta> before = cur.table().getOrDefault(baseType, Map.of());
+            Map<RouteKey, SubtypeMeta> after = e.getValue();
+            if (before.equals(after)) {
+                continue;
+            }
+            diff(baseType, before, after, added, removed);
+            if (after.isEmpty()) {
+                table.remove(baseType);
+                routes.remove(baseType);
+            } else {
+                table.put(baseType, Map.copyOf(after));
+                routes.put(baseType, toRoutes(after));
+            }
         }
-        return Optional.ofNullable(m.get(tenantId));
+
+        if (added.isEmpty() && removed.isEmpty()) {
+            return new AxFlowRegistryChange(cur.version(), List.of(), List.of());
+        }
+        Snapshot next = new Snapshot(cur.version() + 1, Map.copyOf(table), Map.copyOf(routes));
+        tableRef.set(next);
+
+        AxFlowRegistryChange change = new AxFlowRegistryChange(next.version(), List.copyOf(added), List.copyOf(removed));
+        if (announce) {
+            eventPublisher.publishEvent(change);
+        }
+        return change;
+    }
+
+    private void diff(Class<?> baseType,
+                      Map<RouteKey, SubtypeMeta> before,
+                      Map<RouteKey, SubtypeMeta> after,
+                      List<AxFlowRegistryChange.Mapping> added,
+                      List<AxFlowRegistryChange.Mapping> removed) {
+        before.forEach((key, meta) -> {
+            if (!meta.equals(after.get(key))) {
+                removed.add(new AxFlowRegistryChange.Mapping(baseType, key.tenantId(), key.discriminator(), meta.subtype()));
+            }
+        });
+        after.forEach((key, meta) -> {
+            if (!meta.equals(before.get(key))) {
+                added.add(new AxFlowRegistryChange.Mapping(baseType, key.tenantId(), key.discriminator(), meta.subtype()));
+            }
+        });
+    }
+
+    /**
+     * 按判别值分组，并按租户序号展开为稠密路由数组（长度为组内最大序号 + 1）；表中出现的租户在此驻留为 {@link TenantId}。
+     */
+    private Routes toRoutes(Map<RouteKey, SubtypeMeta> byKey) {
+        Map<String, Map<String, SubtypeMeta>> groups = new HashMap<>();
+        byKey.forEach((key, meta) ->
+                groups.computeIfAbsent(key.discriminator(), d -> new HashMap<>()).put(key.tenantId(), meta));
+
+        SubtypeMeta[] byTenant = toArray(groups.getOrDefault(NO_DISCRIMINATOR, Map.of()));
+        Map<String, SubtypeMeta[]> byDiscriminator = new HashMap<>();
+        groups.forEach((d, byTenantId) -> {
+            if (!d.isEmpty()) {
+                byDiscriminator.put(d, toArray(byTenantId));
+            }
+        });
+        return new Routes(byTenant, Map.copyOf(byDiscriminator));
+    }
+
+    private SubtypeMeta[] toArray(Map<String, SubtypeMeta> byTenant) {
+        int width = 0;
+        for (String tenantId : byTenant.keySet()) {
+            width = Math.max(width, TenantId.intern(tenantId).ordinal() + 1);
+        }
+        SubtypeMeta[] arr = new SubtypeMeta[width];
+        byTenant.forEach((tenantId, meta) -> arr[TenantId.intern(tenantId).ordinal()] = meta);
+        return arr;
+    }
+
+    private String normalizeTenant(String tenantId) {
+        String t = tenantId == null ? "" : tenantId.trim();
+        if (t.isEmpty()) {
+            throw new IllegalArgumentException("租户ID不能为空");
+        }
+        return t;
+    }
+
+    private String normalizeDiscriminator(@Nullable String discriminator) {
+        return discriminator == null ? NO_DISCRIMINATOR : discriminator.trim();
     }
 
-    // ===================== 内部：构建路由表（可变阶段，仅在 init 使用） =====================
+    // ===================== 内部：构建路由表（可变阶段，仅在 init 与增量扫描中使用） =====================
 
     /**
      * 扫描并构建 (baseType, tenantId) -> SubtypeMeta 的可变表
      */
-    private Map<Class<?>, Map<String, SubtypeMeta>> buildMutableTable(List<String> basePkgs) {
+    private Map<Class<?>, Map<RouteKey, SubtypeMeta>> buildMutableTable(List<String> basePkgs) {
+        if (scanParallelism > 1) {
+            return buildMutableTableParallel(basePkgs);
+        }
         var scanner = new ClassPathScanningCandidateComponentProvider(false);
         scanner.addIncludeFilter(new AnnotationTypeFilter(AxFlowModel.class));
 
         ClassLoader cl = ClassUtils.getDefaultClassLoader();
-        Map<Class<?>, Map<String, SubtypeMeta>> table = new LinkedHashMap<>();
+        Map<Class<?>, Map<RouteKey, SubtypeMeta>> table = new LinkedHashMap<>();
 
         for (String basePkg : basePkgs) {
             var candidates = scanner.findCandidateComponents(basePkg);
@@ -121,17 +452,174 @@ public class AxFlowSubtypeRegistry {
                 // 3) 计算 baseType（可选显式、默认智能推导）
                 Class<?> baseType = deriveBaseType(clazz, ann);
 
-                // 4) 规整租户列表
+                // 4) 规整租户列表与判别值
                 List<String> tenants = normalizeTenants(ann, clazz);
+                List<String> discriminators = normalizeDiscriminators(ann);
 
                 // 5) 组装元信息并合并入表（冲突检测）
                 SubtypeMeta meta = new SubtypeMeta(clazz);
-                mergeMapping(table, baseType, tenants, meta);
+                mergeMapping(table, baseType, tenants, discriminators, meta);
+            }
+        }
+        return table;
+    }
+
+    /**
+     * 并行构建：在独立的 ForkJoinPool 上并发扫描各包，并并发加载、解析候选类；
+     * 得到的各包候选列表再按“配置的包顺序 + 包内扫描顺序”串行合并。
+     * <p>合并顺序与顺序扫描完全一致，因此冲突检测与报错信息（包括注解声明错误）都是确定的。</p>
+     */
+    private Map<Class<?>, Map<RouteKey, SubtypeMeta>> buildMutableTableParallel(List<String> basePkgs) {
+        ClassLoader cl = ClassUtils.getDefaultClassLoader();
+        ForkJoinPool pool = new ForkJoinPool(scanParallelism);
+        List<List<Candidate>> partials;
+        try {
+            partials = pool.submit(() -> basePkgs.parallelStream()
+                    .map(pkg -> scanPackage(pkg, cl))
+                    .toList()).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("@AxFlowModel 并行扫描被中断", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException("@AxFlowModel 并行扫描失败", cause);
+        } finally {
+            pool.shutdown();
+        }
+
+        Map<Class<?>, Map<RouteKey, SubtypeMeta>> table = new LinkedHashMap<>();
+        for (List<Candidate> partial : partials) {
+            for (Candidate c : partial) {
+                if (c.failure() != null) {
+                    throw c.failure();
+                }
+                mergeMapping(table, c.baseType(), c.tenants(), c.discriminators(), new SubtypeMeta(c.clazz()));
+            }
+        }
+        return table;
+    }
+
+    /**
+     * 扫描单个包（每个任务独立的 scanner），并在当前 ForkJoinPool 上并发加载、解析候选类；结果保持扫描顺序。
+     * <p>ForkJoinPool 工作线程的上下文类加载器是系统类加载器（在 Spring Boot 可执行 jar 中看不到
+     * {@code BOOT-INF/classes}），因此 scanner 显式使用调用线程的类加载器查找资源。</p>
+     */
+    private List<Candidate> scanPackage(String basePkg, ClassLoader cl) {
+        var scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.setResourceLoader(new DefaultResourceLoader(cl));
+        scanner.addIncludeFilter(new AnnotationTypeFilter(AxFlowModel.class));
+        return scanner.findCandidateComponents(basePkg).stream()
+                .toList()
+                .parallelStream()
+                .map(bd -> introspect(bd.getBeanClassName(), cl))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * 加载并解析单个候选类；不可加载或无注解返回 null，声明错误记录在 failure 中由合并阶段按序抛出。
+     */
+    private @Nullable Candidate introspect(String className, ClassLoader cl) {
+        Optional<Class<?>> clazzOpt = loadClass(className, cl);
+        if (clazzOpt.isEmpty()) {
+            return null;
+        }
+        Class<?> clazz = clazzOpt.get();
+        Optional<AxFlowModel> annOpt = getAxFlowModel(clazz);
+        if (annOpt.isEmpty()) {
+            return null;
+        }
+        try {
+            AxFlowModel ann = annOpt.get();
+            return new Candidate(clazz, deriveBaseType(clazz, ann), normalizeTenants(ann, clazz),
+                    normalizeDiscriminators(ann), null);
+        } catch (RuntimeException e) {
+            return new Candidate(clazz, null, null, null, e);
+        }
+    }
+
+    /**
+     * 并行扫描阶段的候选结果。
+     */
+    private record Candidate(Class<?> clazz, Class<?> baseType, List<String> tenants, List<String> discriminators,
+                             RuntimeException failure) {
+    }
+
+    /**
+     * 从构建期索引构建可变表；classpath 上没有索引时返回 null。
+     * <p>只对索引覆盖的扫描包（生成索引时编译过的包，见 {@link AxFlowModelIndex.Contents#covers}）采纳条目，
+     * 保持与扫描相同的可见范围；其余扫描包留在 unindexed 中由调用方扫描。冲突检测同扫描。</p>
+     * <p>被覆盖的扫描包在索引中没有任何模型时直接失败：这通常意味着索引已过期，静默得到空路由表更难排查。</p>
+     *
+     * @param unindexed 输入为全部扫描包，返回时只剩索引未覆盖的包
+     */
+    private @Nullable Map<Class<?>, Map<RouteKey, SubtypeMeta>> buildFromIndex(List<String> basePkgs, List<String> unindexed) {
+        ClassLoader cl = ClassUtils.getDefaultClassLoader();
+        AxFlowModelIndex.Contents contents;
+        try {
+            contents = AxFlowModelIndex.load(cl);
+        } catch (IOException e) {
+            log.warn("读取 AxFlow 索引失败，回退到类路径扫描: {}", e.getMessage());
+            return null;
+        }
+        if (contents == null) {
+            return null;
+        }
+        List<String> indexed = basePkgs.stream().filter(contents::covers).toList();
+        unindexed.removeAll(indexed);
+        if (indexed.isEmpty()) {
+            return null;
+        }
+
+        Map<Class<?>, Map<RouteKey, SubtypeMeta>> table = new LinkedHashMap<>();
+        Set<String> found = new HashSet<>();
+        for (AxFlowModelIndex.Entry entry : contents.entries()) {
+            String pkg = packageOf(entry.subtype(), indexed);
+            if (pkg == null) {
+                continue;
+            }
+            Optional<Class<?>> clazzOpt = loadClass(entry.subtype(), cl);
+            Optional<Class<?>> baseOpt = loadClass(entry.baseType(), cl);
+            if (clazzOpt.isEmpty() || baseOpt.isEmpty()) {
+                continue;
+            }
+            Class<?> clazz = clazzOpt.get();
+            Class<?> baseType = baseOpt.get();
+            if (!baseType.isAssignableFrom(clazz)) {
+                throw new IllegalStateException("AxFlow 索引已过期：子类 %s 不是 base %s 的子类型"
+                        .formatted(clazz.getName(), baseType.getName()));
+            }
+            mergeKey(table, baseType, new RouteKey(entry.tenantId(), entry.discriminator()), new SubtypeMeta(clazz));
+            found.add(pkg);
+        }
+        for (String pkg : indexed) {
+            if (!found.contains(pkg)) {
+                throw new IllegalStateException(("AxFlow 索引覆盖扫描包 %s，但其中没有任何 @AxFlowModel（索引可能已过期）："
+                        + "请重新编译，或设置 axflow.model-index.enabled=false 改用类路径扫描").formatted(pkg));
             }
         }
         return table;
     }
 
+    /**
+     * 类所在的扫描包（第一个匹配的包）；不在任何扫描包内返回 null。
+     */
+    private @Nullable String packageOf(String className, List<String> basePkgs) {
+        for (String pkg : basePkgs) {
+            if (className.startsWith(pkg + ".")) {
+                return pkg;
+            }
+        }
+        return null;
+    }
+
+    private long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
     // ================== 私有辅助方法（职责单一，便于单测） ==================
 
     /**
@@ -194,26 +682,56 @@ public class AxFlowSubtypeRegistry {
     }
 
     /**
-     * 合并到路由表；对同一 (base, tenant) 的不同子类抛出冲突异常
+     * 规整判别值：去空白、去重；未声明时为单个 {@link #NO_DISCRIMINATOR}
      */
-    private void mergeMapping(Map<Class<?>, Map<String, SubtypeMeta>> table,
+    private List<String> normalizeDiscriminators(AxFlowModel ann) {
+        List<String> discriminators = Arrays.stream(ann.discriminator())
+                .map(String::trim)
+                .filter(d -> !d.isEmpty())
+                .distinct()
+                .toList();
+        return discriminators.isEmpty() ? List.of(NO_DISCRIMINATOR) : discriminators;
+    }
+
+    /**
+     * 合并到路由表：租户 × 判别值 逐个合并
+     */
+    private void mergeMapping(Map<Class<?>, Map<RouteKey, SubtypeMeta>> table,
                               Class<?> baseType,
                               List<String> tenants,
+                              List<String> discriminators,
                               SubtypeMeta meta) {
-        Map<String, SubtypeMeta> inner = table.computeIfAbsent(baseType, k -> new LinkedHashMap<>());
         for (String tenantId : tenants) {
-            SubtypeMeta prev = inner.putIfAbsent(tenantId, meta);
-            if (prev != null && !prev.subtype().equals(meta.subtype())) {
-                throw new IllegalStateException(
-                        "重复映射: base=%s, tenant=%s, exist=%s, new=%s"
-                                .formatted(
-                                        baseType.getName(),
-                                        tenantId,
-                                        prev.subtype().getName(),
-                                        meta.subtype().getName()
-                                )
-                );
+            for (String discriminator : discriminators) {
+                mergeKey(table, baseType, new RouteKey(tenantId, discriminator), meta);
             }
         }
     }
+
+    /**
+     * 合并单个路由键；对同一 (base, tenant, 判别值) 的不同子类抛出冲突异常，
+     * 基类未标注 {@link AxFlowDiscriminator} 却声明了判别值时抛出声明异常
+     */
+    private void mergeKey(Map<Class<?>, Map<RouteKey, SubtypeMeta>> table,
+                          Class<?> baseType,
+                          RouteKey key,
+                          SubtypeMeta meta) {
+        if (!key.discriminator().isEmpty() && !baseType.isAnnotationPresent(AxFlowDiscriminator.class)) {
+            throw new IllegalStateException("@AxFlowModel 声明非法：%s 声明了判别值，但基类 %s 未标注 @AxFlowDiscriminator"
+                    .formatted(meta.subtype().getName(), baseType.getName()));
+        }
+        Map<RouteKey, SubtypeMeta> inner = table.computeIfAbsent(baseType, k -> new LinkedHashMap<>());
+        SubtypeMeta prev = inner.putIfAbsent(key, meta);
+        if (prev != null && !prev.subtype().equals(meta.subtype())) {
+            throw new IllegalStateException(
+                    "重复映射: base=%s, tenant=%s, exist=%s, new=%s"
+                            .formatted(
+                                    baseType.getName(),
+                                    key,
+                                    prev.subtype().getName(),
+                                    meta.subtype().getName()
+                            )
+            );
+        }
+    }
 }
\ No newline at end of file
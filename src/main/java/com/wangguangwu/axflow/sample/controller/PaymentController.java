@@ -1,10 +1,18 @@
 package com.wangguangwu.axflow.sample.controller;
 
 import com.wangguangwu.axflow.annotation.AxFlow;
+import com.wangguangwu.axflow.binding.AxFlowStream;
 import com.wangguangwu.axflow.dto.ApiResult;
 import com.wangguangwu.axflow.sample.model.PaymentRequest;
+import com.wangguangwu.axflow.validation.AxFlowElementError;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * 支付控制器
  * <p>
@@ -17,14 +25,44 @@ import org.springframework.web.bind.annotation.*;
 public class PaymentController {
 
     /**
-     * 提交支付请求（允许 TenantA 和 TenantB）
+     * 提交支付请求（允许 TenantA 和 TenantB；启用舱壁时按租户限制在途请求数）
      */
-    @AxFlow(allowedTenants = {"TenantA", "TenantB"})
+    @AxFlow(allowedTenants = {"TenantA", "TenantB"}, bulkhead = true)
     @PostMapping("/submit")
     public ApiResult<?> submitPayment(PaymentRequest request) {
         return ApiResult.success(request);
     }
 
+    /**
+     * 幂等扣款：同一租户以相同的 Idempotency-Key（缺省为相同请求体）重试时回放首次的结果，chargeId 保持不变
+     */
+    @AxFlow(allowedTenants = {"TenantA", "TenantB"}, idempotent = true)
+    @PostMapping("/charge")
+    public ApiResult<?> charge(PaymentRequest request) {
+        return ApiResult.success(Map.of("chargeId", UUID.randomUUID().toString(), "request", request));
+    }
+
+    /**
+     * 批量提交（JSON 数组或 NDJSON）：每个元素独立路由与校验，任一失败时返回各失败元素的下标与错误
+     */
+    @AxFlow(allowedTenants = {"TenantA", "TenantB"})
+    @PostMapping("/batch")
+    public ApiResult<?> submitBatch(List<PaymentRequest> requests) {
+        return ApiResult.success(requests.size());
+    }
+
+    /**
+     * 流式批量提交：元素边读取边处理，校验失败的元素单独收集，不中断其余元素
+     */
+    @AxFlow(allowedTenants = {"TenantA", "TenantB"})
+    @PostMapping("/stream")
+    public ApiResult<?> submitStream(AxFlowStream<PaymentRequest> requests) {
+        AtomicInteger accepted = new AtomicInteger();
+        List<AxFlowElementError> rejected = new ArrayList<>();
+        requests.forEach(r -> accepted.incrementAndGet(), rejected::add);
+        return ApiResult.success(Map.of("accepted", accepted.get(), "rejected", rejected));
+    }
+
     /**
      * 仅允许 TenantA 的支付请求
      */
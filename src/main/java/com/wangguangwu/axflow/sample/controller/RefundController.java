@@ -0,0 +1,29 @@
+package com.wangguangwu.axflow.sample.controller;
+
+import com.wangguangwu.axflow.annotation.AxFlow;
+import com.wangguangwu.axflow.dto.ApiResult;
+import com.wangguangwu.axflow.sample.model.RefundRequest;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 退款控制器
+ * <p>
+ * 演示按租户 + 报文判别字段（channel）路由到不同的退款请求实体。
+ *
+ * @author wangguangwu
+ */
+@RestController
+@RequestMapping("/refund")
+public class RefundController {
+
+    /**
+     * 提交退款请求（允许 TenantA 和 TenantB）
+     */
+    @AxFlow(allowedTenants = {"TenantA", "TenantB"})
+    @PostMapping("/submit")
+    public ApiResult<?> submitRefund(RefundRequest request) {
+        return ApiResult.success(request);
+    }
+}
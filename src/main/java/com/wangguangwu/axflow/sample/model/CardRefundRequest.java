@@ -0,0 +1,24 @@
+package com.wangguangwu.axflow.sample.model;
+
+import com.wangguangwu.axflow.annotation.AxFlowModel;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * 退款请求 - 银行卡渠道（TenantA、TenantB，channel=card）。
+ *
+ * @author wangguangwu
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@AxFlowModel(value = {"TenantA", "TenantB"}, discriminator = "card")
+public class CardRefundRequest extends RefundRequest {
+
+    /**
+     * 退款卡号
+     */
+    @NotBlank(message = "CardRefund: cardNo 不能为空")
+    private String cardNo;
+
+}
@@ -0,0 +1,28 @@
+package com.wangguangwu.axflow.sample.model;
+
+import com.wangguangwu.axflow.annotation.AxFlowDiscriminator;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+/**
+ * 退款请求基类：同一租户按 {@code channel} 字段区分退款渠道。
+ *
+ * @author wangguangwu
+ */
+@Data
+@AxFlowDiscriminator("channel")
+public class RefundRequest {
+
+    /**
+     * 退款渠道（判别字段）
+     */
+    @NotBlank(message = "退款渠道不能为空")
+    private String channel;
+
+    /**
+     * 退款金额
+     */
+    @NotBlank(message = "退款金额不能为空")
+    private String amount;
+
+}
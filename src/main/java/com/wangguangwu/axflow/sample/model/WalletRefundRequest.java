@@ -0,0 +1,24 @@
+package com.wangguangwu.axflow.sample.model;
+
+import com.wangguangwu.axflow.annotation.AxFlowModel;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * 退款请求 - 钱包渠道（TenantA，channel=wallet）。
+ *
+ * @author wangguangwu
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@AxFlowModel(value = "TenantA", discriminator = "wallet")
+public class WalletRefundRequest extends RefundRequest {
+
+    /**
+     * 钱包账户 ID
+     */
+    @NotBlank(message = "WalletRefund: walletId 不能为空")
+    private String walletId;
+
+}
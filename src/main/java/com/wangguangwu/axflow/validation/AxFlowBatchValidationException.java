@@ -0,0 +1,42 @@
+package com.wangguangwu.axflow.validation;
+
+import java.io.Serial;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 批量参数校验失败：携带按元素下标排序的错误列表。
+ *
+ * @author wangguangwu
+ */
+public class AxFlowBatchValidationException extends IllegalArgumentException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 异常消息中最多展开的元素数，完整列表见 {@link #getErrors()}
+     */
+    private static final int MESSAGE_LIMIT = 10;
+
+    private final transient List<AxFlowElementError> errors;
+
+    public AxFlowBatchValidationException(List<AxFlowElementError> errors) {
+        super(describe(errors));
+        this.errors = List.copyOf(errors);
+    }
+
+    public List<AxFlowElementError> getErrors() {
+        return errors;
+    }
+
+    private static String describe(List<AxFlowElementError> errors) {
+        String head = errors.stream()
+                .limit(MESSAGE_LIMIT)
+                .map(AxFlowElementError::toString)
+                .collect(Collectors.joining("; "));
+        return errors.size() > MESSAGE_LIMIT
+                ? "批量校验失败（%d 条）: %s; ...".formatted(errors.size(), head)
+                : "批量校验失败（%d 条）: %s".formatted(errors.size(), head);
+    }
+}
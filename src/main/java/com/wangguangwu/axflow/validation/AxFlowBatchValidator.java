@@ -0,0 +1,136 @@
+package com.wangguangwu.axflow.validation;
+
+import com.wangguangwu.axflow.concurrent.AxFlowExecutors;
+import com.wangguangwu.axflow.concurrent.TenantPropagation;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * 批量参数的分块并行校验：元素按 {@code axflow.batch.chunk-size} 分块交给本类，
+ * 块内再切分为若干片，由执行器并行校验（调用线程承担最后一片），错误按元素下标顺序合并。
+ *
+ * <p>每个元素仍走 {@link AxFlowValidationService} 的完整校验计划（JSR-303 + 业务校验器），
+ * 执行线程继承请求线程的租户上下文。块内元素较少或关闭并行（{@code axflow.batch.parallel=false}）时在调用线程上顺序执行。</p>
+ *
+ * @author wangguangwu
+ */
+@Component
+public class AxFlowBatchValidator {
+
+    /**
+     * 每片最少元素数：元素过少时并行的调度开销大于收益
+     */
+    private static final int MIN_SLICE = 16;
+
+    private final AxFlowValidationService validationService;
+    private final int chunkSize;
+    private final int parallelism;
+    private final ExecutorService executor;
+
+    public AxFlowBatchValidator(AxFlowValidationService validationService,
+                                @Value("${axflow.batch.chunk-size:256}") int chunkSize,
+                                @Value("${axflow.batch.parallel:true}") boolean parallel,
+                                @Value("${axflow.batch.parallelism:0}") int parallelism) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("axflow.batch.chunk-size 必须大于 0: " + chunkSize);
+        }
+        this.validationService = validationService;
+        this.chunkSize = chunkSize;
+        this.parallelism = !parallel ? 1
+                : parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.executor = this.parallelism > 1 ? AxFlowExecutors.newPerTaskExecutor("axflow-batch", this.parallelism) : null;
+    }
+
+    /**
+     * 分块大小：批量绑定每读取这么多元素校验一次
+     */
+    public int chunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * 校验一个分块，返回按下标排序的元素错误（全部通过时为空列表）。
+     *
+     * @param parameter 批量参数
+     * @param baseType  元素基类
+     * @param chunk     分块内的元素
+     * @param offset    分块首元素在整个批量中的下标
+     */
+    public List<AxFlowElementError> validate(MethodParameter parameter, Class<?> baseType, List<?> chunk, int offset,
+                                             Class<?>[] groups) {
+        int n = chunk.size();
+        int slices = executor == null ? 1 : Math.min(parallelism, n / MIN_SLICE);
+        if (slices <= 1) {
+            return validateSlice(parameter, baseType, chunk, offset, 0, n, groups);
+        }
+
+        int step = (n + slices - 1) / slices;
+        List<Future<List<AxFlowElementError>>> futures = new ArrayList<>(slices - 1);
+        for (int from = 0; from + step < n; from += step) {
+            int start = from;
+            int end = from + step;
+            Callable<List<AxFlowElementError>> slice =
+                    () -> validateSlice(parameter, baseType, chunk, offset, start, end, groups);
+            futures.add(executor.submit(TenantPropagation.wrap(slice)));
+        }
+        int last = futures.size() * step;
+        List<AxFlowElementError> tail = validateSlice(parameter, baseType, chunk, offset, last, n, groups);
+
+        List<AxFlowElementError> errors = new ArrayList<>();
+        for (Future<List<AxFlowElementError>> f : futures) {
+            errors.addAll(await(f));
+        }
+        errors.addAll(tail);
+        return errors;
+    }
+
+    private List<AxFlowElementError> validateSlice(MethodParameter parameter, Class<?> baseType, List<?> chunk,
+                                                   int offset, int from, int to, Class<?>[] groups) {
+        List<AxFlowElementError> errors = null;
+        for (int i = from; i < to; i++) {
+            List<String> messages = validationService.validateElement(parameter, baseType, chunk.get(i), groups);
+            if (!messages.isEmpty()) {
+                if (errors == null) {
+                    errors = new ArrayList<>();
+                }
+                errors.add(new AxFlowElementError(offset + i, messages));
+            }
+        }
+        return errors == null ? List.of() : errors;
+    }
+
+    private static List<AxFlowElementError> await(Future<List<AxFlowElementError>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("批量校验被中断", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) {
+                throw re;
+            }
+            if (cause instanceof Error err) {
+                throw err;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
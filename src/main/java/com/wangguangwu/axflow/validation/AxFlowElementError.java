@@ -0,0 +1,18 @@
+package com.wangguangwu.axflow.validation;
+
+import java.util.List;
+
+/**
+ * 批量参数中单个元素的校验错误。
+ *
+ * @param index  元素下标（从 0 开始，按请求体中的顺序）
+ * @param errors 错误描述（字段错误为 {@code 字段:消息}）
+ * @author wangguangwu
+ */
+public record AxFlowElementError(int index, List<String> errors) {
+
+    @Override
+    public String toString() {
+        return "[" + index + "] " + String.join(", ", errors);
+    }
+}
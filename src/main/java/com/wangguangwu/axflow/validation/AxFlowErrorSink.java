@@ -0,0 +1,22 @@
+package com.wangguangwu.axflow.validation;
+
+/**
+ * 业务校验错误接收器：由 {@link AxFlowValidationService} 提供并在请求间复用，
+ * 校验器只在发现错误时写入，通过路径不产生任何对象。
+ *
+ * <p>仅在 {@link AxFlowSinkValidator#validate(Object, AxFlowErrorSink)} 调用期间有效，不要持有引用。</p>
+ *
+ * @author wangguangwu
+ */
+public interface AxFlowErrorSink {
+
+    /**
+     * 记录一条校验错误。
+     */
+    void reject(String message);
+
+    /**
+     * 当前是否已记录错误。
+     */
+    boolean hasErrors();
+}
@@ -0,0 +1,49 @@
+package com.wangguangwu.axflow.validation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 写入式业务校验器：错误直接写入服务提供的 {@link AxFlowErrorSink}，无需构造结果对象。
+ *
+ * <p>与 {@link AxFlowValidator} 一样按 targetType 选择、支持 @Order；
+ * {@link #validate(Object)} 的默认实现仅用于兼容（如并发执行），会为错误分配列表。</p>
+ *
+ * @param <T> 实体类型
+ * @author wangguangwu
+ */
+public interface AxFlowSinkValidator<T> extends AxFlowValidator<T> {
+
+    /**
+     * 执行业务校验，错误写入 sink。
+     */
+    void validate(T value, AxFlowErrorSink sink);
+
+    @Override
+    default AxFlowValidationResult validate(T value) {
+        ListSink sink = new ListSink();
+        validate(value, sink);
+        return sink.errors == null ? AxFlowValidationResult.ok() : AxFlowValidationResult.fail(sink.errors);
+    }
+
+    /**
+     * 兼容路径使用的简单实现
+     */
+    final class ListSink implements AxFlowErrorSink {
+
+        private List<String> errors;
+
+        @Override
+        public void reject(String message) {
+            if (errors == null) {
+                errors = new ArrayList<>(2);
+            }
+            errors.add(message);
+        }
+
+        @Override
+        public boolean hasErrors() {
+            return errors != null;
+        }
+    }
+}
@@ -2,17 +2,19 @@ package com.wangguangwu.axflow.validation;
 
 import lombok.Getter;
 
-import java.util.Collections;
 import java.util.List;
 
 /**
  * 业务校验结果。
+ * <p>通过结果为共享单例（{@link #ok()} 不分配对象）；需要零分配的校验器可改用 {@link AxFlowSinkValidator}。</p>
  *
  * @author wangguangwu
  */
 @Getter
 public final class AxFlowValidationResult {
 
+    private static final AxFlowValidationResult OK = new AxFlowValidationResult(true, List.of());
+
     private final boolean valid;
     private final List<String> errors;
 
@@ -22,11 +24,15 @@ public final class AxFlowValidationResult {
     }
 
     public static AxFlowValidationResult ok() {
-        return new AxFlowValidationResult(true, Collections.emptyList());
+        return OK;
     }
 
     public static AxFlowValidationResult fail(List<String> errors) {
         return new AxFlowValidationResult(false, errors);
     }
 
+    public static AxFlowValidationResult fail(String... errors) {
+        return new AxFlowValidationResult(false, List.of(errors));
+    }
+
 }
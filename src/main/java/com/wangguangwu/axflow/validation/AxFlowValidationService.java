@@ -1,11 +1,15 @@
 package com.wangguangwu.axflow.validation;
 
+import com.wangguangwu.axflow.concurrent.AxFlowExecutors;
+import com.wangguangwu.axflow.metrics.AxFlowMetrics;
+import jakarta.validation.Validator;
 import org.springframework.context.ApplicationContext;
 import org.springframework.core.MethodParameter;
 import org.springframework.core.annotation.Order;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
 import org.springframework.validation.ObjectError;
 import org.springframework.validation.SmartValidator;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -16,46 +20,246 @@ import java.util.concurrent.ConcurrentHashMap;
 /**
  * 统一校验服务：先 JSR-303（可带 groups），再按类型筛选业务校验器（支持 @Order）。
  *
+ * <p>每个 (实际类型, groups) 组合首次校验时编译一份 {@link ValidationPlan}：通过 Bean Validation 元数据 API
+ * 记录该类型是否存在约束/级联，以及适用的业务校验器。运行期无约束的类型直接跳过 JSR-303；
+ * 错误容器（BindingResult）只在真正出现错误时才分配，通过路径不产生额外对象。</p>
+ *
  * @author wangguangwu
  */
 @Component
 public class AxFlowValidationService {
 
+    private static final Class<?>[] NO_GROUPS = new Class<?>[0];
+
+    /**
+     * 每线程复用的错误接收器（仅平台线程，见 {@link AxFlowExecutors#isVirtualThread()}）
+     */
+    private static final ThreadLocal<ErrorCollector> SINKS = ThreadLocal.withInitial(ErrorCollector::new);
+
     private final ApplicationContext applicationContext;
     private final SmartValidator smartValidator;
+    private final AxFlowMetrics metrics;
+    private final AxFlowValidatorExecutor validatorExecutor;
+
+    /**
+     * 底层的 Bean Validation 校验器（用于元数据查询与通过路径的直接校验）；无法获取时为 null，退化为总是走 smartValidator
+     */
+    private final @Nullable Validator beanValidator;
 
-    public AxFlowValidationService(ApplicationContext applicationContext, SmartValidator smartValidator) {
+    public AxFlowValidationService(ApplicationContext applicationContext,
+                                   SmartValidator smartValidator,
+                                   AxFlowMetrics metrics,
+                                   AxFlowValidatorExecutor validatorExecutor) {
         this.applicationContext = applicationContext;
         this.smartValidator = smartValidator;
+        this.metrics = metrics;
+        this.validatorExecutor = validatorExecutor;
+        this.beanValidator = unwrap(smartValidator);
+    }
+
+    /**
+     * 无 groups 的计划按类型缓存；带 groups 的计划按 (类型, groups) 缓存
+     */
+    private final Map<Class<?>, ValidationPlan> plans = new ConcurrentHashMap<>();
+    private final Map<PlanKey, ValidationPlan> groupedPlans = new ConcurrentHashMap<>();
+
+    /**
+     * 预编译的校验计划。
+     *
+     * @param beanConstrained 该类型是否声明了任何约束或级联校验（按 Bean Validation 元数据）
+     * @param groups          JSR-303 分组（规整后，空数组表示默认分组）
+     * @param validators      适用的业务校验器（已按 @Order 排序）
+     * @param concurrent      是否交给 {@link AxFlowValidatorExecutor} 并发执行
+     */
+    record ValidationPlan(boolean beanConstrained, Class<?>[] groups, List<AxFlowValidator<?>> validators,
+                          boolean concurrent) {
     }
 
-    private final Map<Class<?>, List<AxFlowValidator<?>>> cache = new ConcurrentHashMap<>();
+    private record PlanKey(Class<?> type, List<Class<?>> groups) {
+    }
+
+    /**
+     * 校验是否可能阻塞调用线程：启用并发业务校验时，调用线程会等待独立校验器的结果（最长到各自的超时）。
+     * <p>非阻塞调用方（如 WebFlux 事件循环）据此决定是否把校验切换到可阻塞的线程上。</p>
+     */
+    public boolean mayBlock() {
+        return validatorExecutor.enabled();
+    }
 
     public void validate(MethodParameter parameter, Object value, Class<?>[] groups) throws MethodArgumentNotValidException {
+        BeanPropertyBindingResult errors = collect(parameter, parameter.getParameterType(), value, groups);
+        if (errors != null && errors.hasErrors()) {
+            throw new MethodArgumentNotValidException(parameter, errors);
+        }
+    }
+
+    /**
+     * 校验批量参数中的单个元素：不抛异常，返回错误描述（字段错误为 {@code 字段:消息}），通过时返回空列表。
+     * <p>可在多个线程上并发调用。</p>
+     *
+     * @param baseType 元素的基类（指标标签用）
+     */
+    public List<String> validateElement(MethodParameter parameter, Class<?> baseType, Object value, Class<?>[] groups) {
+        BeanPropertyBindingResult errors = collect(parameter, baseType, value, groups);
+        if (errors == null || !errors.hasErrors()) {
+            return List.of();
+        }
+        List<String> messages = new ArrayList<>(errors.getErrorCount());
+        for (ObjectError e : errors.getAllErrors()) {
+            messages.add(e instanceof FieldError fe ? fe.getField() + ":" + fe.getDefaultMessage() : e.getDefaultMessage());
+        }
+        return messages;
+    }
+
+    /**
+     * 执行校验计划，返回错误容器；全部通过时可能返回 null（未分配）。
+     */
+    private @Nullable BeanPropertyBindingResult collect(MethodParameter parameter, Class<?> baseType, Object value,
+                                                        Class<?>[] groups) {
         Class<?> actualType = value.getClass();
-        String objectName = nameOr(actualType.getSimpleName(), parameter.getParameterName());
-        BeanPropertyBindingResult errors = new BeanPropertyBindingResult(value, objectName);
-
-        // 1) Bean Validation
-        if (groups != null && groups.length > 0) {
-            smartValidator.validate(value, errors, groups);
-        } else {
-            smartValidator.validate(value, errors);
-        }
-
-        // 2) 业务校验
-        List<AxFlowValidator<?>> validators = cache.computeIfAbsent(actualType, this::loadValidators);
-        for (AxFlowValidator<?> v : validators) {
-            @SuppressWarnings("unchecked")
-            AxFlowValidator<Object> v0 = (AxFlowValidator<Object>) v;
-            AxFlowValidationResult vr = v0.validate(value);
-            if (!vr.isValid()) {
-                vr.getErrors().forEach(msg -> errors.addError(new ObjectError(objectName, msg)));
+        ValidationPlan plan = planFor(actualType, groups);
+        BeanPropertyBindingResult errors = null;
+
+        // 1) Bean Validation：无约束类型直接跳过；通过时不分配 BindingResult
+        long start = metrics.start();
+        if (plan.beanConstrained()) {
+            if (beanValidator == null || !beanValidator.validate(value, plan.groups()).isEmpty()) {
+                // 失败路径（或无法直接校验时）交给 smartValidator，以沿用 Spring 的错误码与字段错误
+                errors = newErrors(parameter, value);
+                smartValidator.validate(value, errors, (Object[]) plan.groups());
             }
         }
+        metrics.record(AxFlowMetrics.Stage.BEAN_VALIDATION, baseType, actualType, start);
 
-        if (errors.hasErrors()) {
-            throw new MethodArgumentNotValidException(parameter, errors);
+        // 2) 业务校验（并发模式下独立校验器并行执行，错误仍按 @Order 顺序合并）
+        start = metrics.start();
+        if (plan.concurrent()) {
+            errors = addErrors(errors, parameter, value, validatorExecutor.run(plan.validators(), value));
+        } else if (!plan.validators().isEmpty()) {
+            errors = runSequential(plan.validators(), parameter, value, errors);
+        }
+        metrics.record(AxFlowMetrics.Stage.CUSTOM_VALIDATION, baseType, actualType, start);
+        return errors;
+    }
+
+    private ValidationPlan planFor(Class<?> actualType, Class<?>[] groups) {
+        if (groups == null || groups.length == 0) {
+            ValidationPlan plan = plans.get(actualType);
+            return plan != null ? plan : plans.computeIfAbsent(actualType, t -> compile(t, NO_GROUPS));
+        }
+        return groupedPlans.computeIfAbsent(new PlanKey(actualType, List.of(groups)),
+                k -> compile(k.type(), k.groups().toArray(Class<?>[]::new)));
+    }
+
+    private ValidationPlan compile(Class<?> actualType, Class<?>[] groups) {
+        boolean constrained = beanValidator == null
+                || beanValidator.getConstraintsForClass(actualType).isBeanConstrained();
+        List<AxFlowValidator<?>> validators = loadValidators(actualType);
+        return new ValidationPlan(constrained, groups, validators, validatorExecutor.worthConcurrent(validators));
+    }
+
+    /**
+     * 在请求线程上按 @Order 顺序执行：写入式校验器直接写入复用的 sink，
+     * 普通校验器的结果转写入 sink，通过路径不分配对象。
+     */
+    @SuppressWarnings("unchecked")
+    private BeanPropertyBindingResult runSequential(List<AxFlowValidator<?>> validators, MethodParameter parameter,
+                                                    Object value, @Nullable BeanPropertyBindingResult errors) {
+        // 虚拟线程每请求一个，线程级复用无意义
+        ErrorCollector sink = AxFlowExecutors.isVirtualThread() ? new ErrorCollector() : SINKS.get();
+        if (sink.inUse) {
+            // 校验器内部重入校验服务时，使用独立的 sink
+            sink = new ErrorCollector();
+        }
+        sink.open(this, parameter, value, errors);
+        try {
+            for (AxFlowValidator<?> v : validators) {
+                if (v instanceof AxFlowSinkValidator<?> sv) {
+                    ((AxFlowSinkValidator<Object>) sv).validate(value, sink);
+                } else {
+                    AxFlowValidationResult vr = ((AxFlowValidator<Object>) v).validate(value);
+                    if (!vr.isValid()) {
+                        for (String msg : vr.getErrors()) {
+                            sink.reject(msg);
+                        }
+                    }
+                }
+            }
+            return sink.errors;
+        } finally {
+            sink.close();
+        }
+    }
+
+    /**
+     * 复用的错误接收器：首次 reject 时才分配 BindingResult（可能沿用 JSR-303 阶段已分配的实例）。
+     */
+    private static final class ErrorCollector implements AxFlowErrorSink {
+
+        private AxFlowValidationService owner;
+        private MethodParameter parameter;
+        private Object value;
+        private BeanPropertyBindingResult errors;
+        private boolean inUse;
+
+        void open(AxFlowValidationService owner, MethodParameter parameter, Object value,
+                  @Nullable BeanPropertyBindingResult errors) {
+            this.owner = owner;
+            this.parameter = parameter;
+            this.value = value;
+            this.errors = errors;
+            this.inUse = true;
+        }
+
+        void close() {
+            owner = null;
+            parameter = null;
+            value = null;
+            errors = null;
+            inUse = false;
+        }
+
+        @Override
+        public void reject(String message) {
+            if (errors == null) {
+                errors = owner.newErrors(parameter, value);
+            }
+            errors.addError(new ObjectError(errors.getObjectName(), message));
+        }
+
+        @Override
+        public boolean hasErrors() {
+            return errors != null && errors.hasErrors();
+        }
+    }
+
+    private BeanPropertyBindingResult addErrors(@Nullable BeanPropertyBindingResult errors, MethodParameter parameter,
+                                                Object value, List<String> messages) {
+        if (messages.isEmpty()) {
+            return errors;
+        }
+        if (errors == null) {
+            errors = newErrors(parameter, value);
+        }
+        String objectName = errors.getObjectName();
+        for (String msg : messages) {
+            errors.addError(new ObjectError(objectName, msg));
+        }
+        return errors;
+    }
+
+    private BeanPropertyBindingResult newErrors(MethodParameter parameter, Object value) {
+        return new BeanPropertyBindingResult(value, nameOr(value.getClass().getSimpleName(), parameter.getParameterName()));
+    }
+
+    private static @Nullable Validator unwrap(SmartValidator smartValidator) {
+        if (smartValidator instanceof Validator v) {
+            return v;
+        }
+        try {
+            return smartValidator.unwrap(Validator.class);
+        } catch (RuntimeException e) {
+            return null;
         }
     }
 
@@ -1,5 +1,7 @@
 package com.wangguangwu.axflow.validation;
 
+import java.time.Duration;
+
 /**
  * 业务校验器：按 targetType 选择，支持多实现 + @Order 排序。
  *
@@ -24,4 +26,20 @@ public interface AxFlowValidator<T> {
      * 执行业务校验。
      */
     AxFlowValidationResult validate(T value);
+
+    /**
+     * 是否与其他校验器相互独立（无共享状态、不依赖执行顺序）。
+     * <p>开启并发校验（{@code axflow.validation.concurrent.enabled=true}）时，独立的校验器会被并行执行；
+     * 默认 false，即始终在请求线程上按 @Order 顺序执行。</p>
+     */
+    default boolean independent() {
+        return false;
+    }
+
+    /**
+     * 并发执行时的超时时间；返回 null 使用 {@code axflow.validation.concurrent.default-timeout}。
+     */
+    default Duration timeout() {
+        return null;
+    }
 }
@@ -0,0 +1,197 @@
+package com.wangguangwu.axflow.validation;
+
+import com.wangguangwu.axflow.concurrent.AxFlowExecutors;
+import com.wangguangwu.axflow.concurrent.TenantPropagation;
+import com.wangguangwu.axflow.context.TenantContext;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 独立业务校验器的并发执行器（可选，默认关闭）。
+ *
+ * <p>同一请求内：标记为 {@link AxFlowValidator#independent()} 的校验器提交到执行器并行运行，
+ * 其余校验器仍在请求线程上按 @Order 顺序执行。每个校验器有各自的超时（超时视为校验失败）；
+ * 任一校验器失败后，取消所有排在它之后的校验器（fail-fast）。</p>
+ *
+ * <p>结果与顺序执行保持确定性：fail-fast 开启时，只报告 @Order 顺序中第一个失败校验器的错误；
+ * 关闭时等待全部完成，按 @Order 顺序合并所有错误。</p>
+ *
+ * <p>运行在 JDK 21+ 时使用虚拟线程（每任务一线程）；JDK 17 上回退到有界的守护平台线程池。
+ * 执行线程会继承请求线程的 {@link TenantContext}。回退线程池饱和时提交被拒绝，该校验器按超时处理
+ * （不在请求线程上内联执行，否则其超时无法生效）。</p>
+ *
+ * @author wangguangwu
+ */
+@Slf4j
+@Component
+public class AxFlowValidatorExecutor {
+
+    private final boolean enabled;
+    private final boolean failFast;
+    private final Duration defaultTimeout;
+    private final ExecutorService executor;
+
+    public AxFlowValidatorExecutor(@Value("${axflow.validation.concurrent.enabled:false}") boolean enabled,
+                                   @Value("${axflow.validation.concurrent.fail-fast:true}") boolean failFast,
+                                   @Value("${axflow.validation.concurrent.default-timeout:1s}") Duration defaultTimeout,
+                                   @Value("${axflow.validation.concurrent.max-threads:0}") int maxThreads) {
+        this.enabled = enabled;
+        this.failFast = failFast;
+        this.defaultTimeout = defaultTimeout;
+        this.executor = enabled
+                ? AxFlowExecutors.newPerTaskExecutor("axflow-validator", maxThreads, new ThreadPoolExecutor.AbortPolicy())
+                : null;
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    /**
+     * 该组校验器是否值得并发执行：至少两个校验器且至少一个独立。
+     */
+    boolean worthConcurrent(List<AxFlowValidator<?>> validators) {
+        return enabled && validators.size() > 1 && validators.stream().anyMatch(AxFlowValidator::independent);
+    }
+
+    /**
+     * 并发执行校验器，返回按 @Order 顺序合并的错误（无错误时返回空列表）。
+     *
+     * @param validators 已按 @Order 排序的校验器
+     */
+    List<String> run(List<AxFlowValidator<?>> validators, Object value) {
+        int n = validators.size();
+        AxFlowValidationResult[] results = new AxFlowValidationResult[n];
+        Future<?>[] futures = new Future<?>[n];
+        long[] deadlines = new long[n];
+        // fail-fast：已知失败的最小下标，之后的校验器可被取消
+        AtomicInteger firstFailed = new AtomicInteger(n);
+
+        for (int i = 0; i < n; i++) {
+            AxFlowValidator<?> v = validators.get(i);
+            if (v.independent()) {
+                int idx = i;
+                deadlines[i] = System.nanoTime() + timeoutOf(v).toNanos();
+                try {
+                    futures[i] = executor.submit(TenantPropagation.wrap(() -> {
+                        AxFlowValidationResult r = invoke(v, value);
+                        results[idx] = r;
+                        if (!r.isValid()) {
+                            onFailed(idx, firstFailed, futures);
+                        }
+                    }));
+                } catch (RejectedExecutionException e) {
+                    log.warn("AxFlow 业务校验执行器已满，按超时处理: validator={}", v.getClass().getName());
+                    results[i] = AxFlowValidationResult.fail(List.of("业务校验超时: " + v.getClass().getSimpleName()));
+                    onFailed(i, firstFailed, futures);
+                }
+            }
+        }
+
+        // 非独立校验器在请求线程上按顺序执行
+        for (int i = 0; i < n && !(failFast && i > firstFailed.get()); i++) {
+            AxFlowValidator<?> v = validators.get(i);
+            if (!v.independent()) {
+                AxFlowValidationResult r = invoke(v, value);
+                results[i] = r;
+                if (!r.isValid()) {
+                    onFailed(i, firstFailed, futures);
+                }
+            }
+        }
+
+        List<String> errors = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            if (failFast && i > firstFailed.get()) {
+                cancel(futures[i]);
+                continue;
+            }
+            AxFlowValidationResult r = futures[i] != null ? await(validators.get(i), futures[i], results, i, deadlines[i]) : results[i];
+            if (r != null && !r.isValid()) {
+                errors.addAll(r.getErrors());
+                if (failFast) {
+                    onFailed(i, firstFailed, futures);
+                    break;
+                }
+            }
+        }
+        if (failFast) {
+            for (Future<?> f : futures) {
+                cancel(f);
+            }
+        }
+        return errors;
+    }
+
+    private AxFlowValidationResult await(AxFlowValidator<?> v, Future<?> future, AxFlowValidationResult[] results,
+                                         int idx, long deadline) {
+        try {
+            future.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return results[idx];
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("AxFlow 业务校验超时: validator={}, timeout={}", v.getClass().getName(), timeoutOf(v));
+            return AxFlowValidationResult.fail(List.of("业务校验超时: " + v.getClass().getSimpleName()));
+        } catch (CancellationException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("业务校验被中断", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) {
+                throw re;
+            }
+            if (cause instanceof Error err) {
+                throw err;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private void onFailed(int idx, AtomicInteger firstFailed, Future<?>[] futures) {
+        int prev;
+        while (idx < (prev = firstFailed.get())) {
+            if (firstFailed.compareAndSet(prev, idx)) {
+                break;
+            }
+        }
+        if (failFast) {
+            for (int j = idx + 1; j < futures.length; j++) {
+                cancel(futures[j]);
+            }
+        }
+    }
+
+    private static void cancel(Future<?> f) {
+        if (f != null && !f.isDone()) {
+            f.cancel(true);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static AxFlowValidationResult invoke(AxFlowValidator<?> v, Object value) {
+        return ((AxFlowValidator<Object>) v).validate(value);
+    }
+
+    private Duration timeoutOf(AxFlowValidator<?> v) {
+        Duration t = v.timeout();
+        return t != null ? t : defaultTimeout;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
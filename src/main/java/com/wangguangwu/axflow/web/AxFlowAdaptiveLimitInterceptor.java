@@ -0,0 +1,72 @@
+package com.wangguangwu.axflow.web;
+
+import com.wangguangwu.axflow.context.TenantContext;
+import com.wangguangwu.axflow.limit.AxFlowAdaptiveLimiter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+
+/**
+ * 在所有 {@code @AxFlow} 处理方法之前执行自适应并发限制（在 {@link TenantInterceptor} 之后、舱壁之前），
+ * 请求完成时上报耗时；被削减时直接写出预序列化的 503 响应。
+ *
+ * <p>之后的拦截器（如舱壁）拒绝请求时须调用 {@link #markShortCircuited}：此类请求未到达处理方法，
+ * 只释放在途计数，不作为延迟样本。</p>
+ *
+ * @author wangguangwu
+ */
+@Component
+public class AxFlowAdaptiveLimitInterceptor implements HandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = AxFlowAdaptiveLimitInterceptor.class.getName() + ".start";
+    private static final String SHORT_CIRCUITED_ATTRIBUTE = AxFlowAdaptiveLimitInterceptor.class.getName() + ".shortCircuited";
+
+    private final AxFlowAdaptiveLimiter limiter;
+    private final AxFlowPlanRegistry planRegistry;
+    private final AxFlowRejections rejections;
+
+    public AxFlowAdaptiveLimitInterceptor(AxFlowAdaptiveLimiter limiter, AxFlowPlanRegistry planRegistry,
+                                          AxFlowRejections rejections) {
+        this.limiter = limiter;
+        this.planRegistry = planRegistry;
+        this.rejections = rejections;
+    }
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler) throws IOException {
+        if (!limiter.enabled() || !(handler instanceof HandlerMethod hm) || planRegistry.planOf(hm.getMethod()) == null) {
+            return true;
+        }
+        if (!limiter.tryAcquire(TenantContext.getTenant())) {
+            rejections.writeOverloaded(response, TenantContext.getTenant());
+            return false;
+        }
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler, Exception ex) {
+        if (request.getAttribute(START_ATTRIBUTE) instanceof Long start) {
+            request.removeAttribute(START_ATTRIBUTE);
+            if (request.getAttribute(SHORT_CIRCUITED_ATTRIBUTE) != null) {
+                request.removeAttribute(SHORT_CIRCUITED_ATTRIBUTE);
+                limiter.release();
+            } else {
+                limiter.onComplete(System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * 标记请求在到达处理方法前被拒绝（本次完成不计入延迟样本）。
+     */
+    static void markShortCircuited(HttpServletRequest request) {
+        request.setAttribute(SHORT_CIRCUITED_ATTRIBUTE, Boolean.TRUE);
+    }
+}
@@ -1,42 +1,40 @@
 package com.wangguangwu.axflow.web;
 
 import com.wangguangwu.axflow.annotation.AxFlow;
+import com.wangguangwu.axflow.binding.AxFlowBinder;
 import com.wangguangwu.axflow.binding.AxFlowBinderFactory;
+import com.wangguangwu.axflow.binding.AxFlowBodyFormat;
 import com.wangguangwu.axflow.context.TenantContext;
+import com.wangguangwu.axflow.context.TenantId;
+import com.wangguangwu.axflow.metrics.AxFlowMetrics;
 import com.wangguangwu.axflow.validation.AxFlowValidationService;
 import jakarta.annotation.Resource;
-import jakarta.servlet.ServletRequest;
 import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpServletResponse;
 import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.MethodParameter;
-import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.http.server.ServletServerHttpRequest;
-import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
-import org.springframework.util.ClassUtils;
-import org.springframework.util.StreamUtils;
-import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.RequestHeader;
-import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.method.support.ModelAndViewContainer;
 
-import java.lang.annotation.Annotation;
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Objects;
-import java.util.Optional;
 
 /**
  * 参数解析器：按方法级 {@link AxFlow} 选择目标参数，完成“读取Body→租户路由绑定→（可选）统一校验”。
  *
- * <p>选择顺序：paramIndex > paramName > 自动推断唯一复杂对象。</p>
+ * <p>选择顺序：paramIndex > paramName > 自动推断唯一复杂对象（由 {@link AxFlowPlanRegistry} 预编译）。</p>
  *
  * <p>校验：方法级 validate 优先；否则使用绑定结果的 validateByDefault。</p>
  *
+ * <p>批量参数（{@code List<Base>} / {@code Base[]} / {@code AxFlowStream<Base>}）交给 {@link AxFlowBatchResolver}。</p>
+ *
+ * <p>请求体格式按 Content-Type 识别（JSON / Smile / CBOR，见 {@link AxFlowBodyFormat}）。</p>
+ *
  * @author wangguangwu
  */
 @Component
@@ -46,11 +44,19 @@ public class AxFlowArgumentResolver implements HandlerMethodArgumentResolver {
     private AxFlowBinderFactory binderFactory;
     @Resource
     private AxFlowValidationService validationService;
+    @Resource
+    private AxFlowPlanRegistry planRegistry;
+    @Resource
+    private AxFlowMetrics metrics;
+    @Resource
+    private AxFlowBatchResolver batchResolver;
+    @Value("${axflow.body.max-size:10485760}")
+    private int maxBodySize;
 
     @Override
     public boolean supportsParameter(@NonNull MethodParameter parameter) {
-        AxFlow ax = getMethodAxFlow(parameter);
-        return ax != null && isSelectedParameter(parameter, ax);
+        AxFlowPlan plan = planRegistry.planOf(parameter);
+        return plan != null && plan.isSelected(parameter.getParameterIndex());
     }
 
     @Override
@@ -62,21 +68,28 @@ public class AxFlowArgumentResolver implements HandlerMethodArgumentResolver {
 
         HttpServletRequest req = Objects.requireNonNull(
                 webRequest.getNativeRequest(HttpServletRequest.class), "请求对象不能为空");
-        ServletServerHttpRequest input = new ServletServerHttpRequest(req);
 
-        AxFlow ax = Objects.requireNonNull(getMethodAxFlow(parameter), "@AxFlow 必须标注在方法上");
+        AxFlowPlan plan = Objects.requireNonNull(planRegistry.planOf(parameter), "@AxFlow 必须标注在方法上");
+        AxFlow ax = plan.axFlow();
 
-        byte[] body = StreamUtils.copyToByteArray(req.getInputStream());
-        if (body.length == 0 && ax.bodyRequired()) {
-            throw new HttpMessageNotReadableException("请求体为空", input);
+        AxFlowBinder binder = plan.binder();
+        AxFlowBodyFormat format = AxFlowBodyFormat.of(req.getContentType());
+        // 批量参数：始终从请求流增量读取，逐元素路由与分块校验
+        boolean streaming = plan.shape().isBatch() || binder.bodyMode() == AxFlowBinder.BodyMode.STREAM;
+        Body body = openBody(req, plan, streaming);
+        if (body.empty() && ax.bodyRequired()) {
+            throw new HttpMessageNotReadableException(AxFlowRejections.EMPTY_BODY_MESSAGE, new ServletServerHttpRequest(req));
         }
 
         // 解析前调用
-        checkTenantAccess(ax, TenantContext.getTenantId());
+        checkTenantAccess(plan, TenantContext.getTenant());
 
-        Class<?> baseType = parameter.getParameterType();
-        var bound = binderFactory.bind(body, baseType);
-        Object value = bound.value();
+        if (plan.shape().isBatch()) {
+            return batchResolver.resolve(parameter, plan, format, body.stream());
+        }
+        Object value = streaming
+                ? binderFactory.bind(binder, format, body.stream(), plan.baseType()).value()
+                : binderFactory.bind(binder, format, body.bytes(), plan.baseType()).value();
 
         if (ax.validate()) {
             validationService.validate(parameter, value, ax.groups());
@@ -84,101 +97,38 @@ public class AxFlowArgumentResolver implements HandlerMethodArgumentResolver {
         return value;
     }
 
-    private @Nullable AxFlow getMethodAxFlow(MethodParameter parameter) {
-        return Optional.ofNullable(parameter.getMethod())
-                .map(m -> AnnotatedElementUtils.findMergedAnnotation(m, AxFlow.class))
-                .orElse(null);
-    }
-
-    private boolean isSelectedParameter(MethodParameter p, AxFlow ax) {
-        if (ax.paramIndex() >= 0) {
-            return p.getParameterIndex() == ax.paramIndex();
-        }
-        if (!ax.paramName().isBlank()) {
-            String name = p.getParameterName();
-            return name != null && name.equals(ax.paramName());
-        }
-        return isTheOnlyComplexParam(p);
-    }
-
-    private boolean isTheOnlyComplexParam(MethodParameter target) {
-        var method = Objects.requireNonNull(target.getMethod());
-        List<Integer> complexIndexes = new ArrayList<>();
-        for (int i = 0; i < method.getParameterCount(); i++) {
-            MethodParameter mp = new MethodParameter(method, i);
-            if (isComplex(mp)) {
-                complexIndexes.add(i);
-            }
-        }
-        return complexIndexes.size() == 1 && complexIndexes.get(0) == target.getParameterIndex();
-    }
-
-    private boolean isComplex(MethodParameter p) {
-        Class<?> t = p.getParameterType();
-        if (isSimpleValueType(t)) {
-            return false;
-        }
-        if (ServletRequest.class.isAssignableFrom(t) || HttpServletResponse.class.isAssignableFrom(t)) {
-            return false;
-        }
-        for (Annotation a : p.getParameterAnnotations()) {
-            if (a.annotationType() == RequestParam.class ||
-                    a.annotationType() == PathVariable.class ||
-                    a.annotationType() == RequestHeader.class) {
-                return false;
-            }
+    /**
+     * 打开请求体：流式模式只打开请求流（读取与绑定交错进行，耗时计入路由与反序列化阶段），
+     * 缓冲模式完整读取并记录 {@link AxFlowMetrics.Stage#BODY_READ}。
+     */
+    private Body openBody(HttpServletRequest req, AxFlowPlan plan, boolean streaming) throws IOException {
+        if (streaming) {
+            InputStream in = AxFlowRequestBody.openStream(req);
+            return in == null ? new Body(InputStream.nullInputStream(), null, true) : new Body(in, null, false);
         }
-        return true;
-    }
-
-    private boolean isSimpleValueType(Class<?> clazz) {
-        return ClassUtils.isPrimitiveOrWrapper(clazz)
-                || CharSequence.class.isAssignableFrom(clazz)
-                || Number.class.isAssignableFrom(clazz)
-                || java.util.Date.class.isAssignableFrom(clazz)
-                || clazz.isEnum();
+        long start = metrics.start();
+        byte[] bytes = AxFlowRequestBody.readFully(req, maxBodySize);
+        metrics.record(AxFlowMetrics.Stage.BODY_READ, plan.baseType(), null, start);
+        return new Body(null, bytes, bytes.length == 0);
     }
 
     /**
-     * 校验当前租户是否符合 @AxFlow 的白名单/黑名单规则。
-     *
-     * @param ax       方法上的 @AxFlow 注解
-     * @param tenantId 当前租户 ID，可为空
+     * 请求体：流式模式下为 stream，缓冲模式下为 bytes
      */
-    private void checkTenantAccess(AxFlow ax, String tenantId) {
-        String t = tenantId == null ? "" : tenantId.trim();
-
-        // 如果黑白名单都为空，默认拒绝
-        if (ax.allowedTenants().length == 0 && ax.deniedTenants().length == 0) {
-            throw new IllegalArgumentException("no tenant access config, reject by default: " + (t.isEmpty() ? "<empty>" : t));
-        }
-
-        // 1) 黑名单优先
-        if (inList(ax.deniedTenants(), t)) {
-            throw new IllegalArgumentException("tenant denied: " + (t.isEmpty() ? "<empty>" : t));
-        }
-
-        // 2) 白名单：若配置了白名单且未命中，则拒绝
-        if (ax.allowedTenants().length > 0 && !inList(ax.allowedTenants(), t)) {
-            throw new IllegalArgumentException("tenant not allowed: " + (t.isEmpty() ? "<empty>" : t));
-        }
+    private record Body(InputStream stream, byte[] bytes, boolean empty) {
     }
 
     /**
-     * 判断 tenant 是否在名单中，支持通配符 "*"。
+     * 校验当前租户是否符合 @AxFlow 的白名单/黑名单规则。
+     *
+     * @param plan     方法的预编译执行计划
+     * @param tenant   当前租户，可为空
      */
-    private boolean inList(String[] configured, String tenantId) {
-        if (configured == null) {
-            return false;
-        }
-        for (String c : configured) {
-            if (c == null || c.isBlank()) {
-                continue;
-            }
-            if ("*".equals(c.trim()) || c.trim().equals(tenantId)) {
-                return true;
-            }
+    private void checkTenantAccess(AxFlowPlan plan, TenantId tenant) {
+        String reason = plan.acl().rejection(tenant == null ? "" : tenant.value());
+        if (reason != null) {
+            metrics.aclRejected(plan.baseType(), tenant);
+            throw new AxFlowRejectedException(reason, tenant);
         }
-        return false;
     }
 }
@@ -0,0 +1,198 @@
+package com.wangguangwu.axflow.web;
+
+import com.wangguangwu.axflow.binding.AxFlowBinderFactory;
+import com.wangguangwu.axflow.binding.AxFlowBodyFormat;
+import com.wangguangwu.axflow.binding.AxFlowStream;
+import com.wangguangwu.axflow.context.TenantContext;
+import com.wangguangwu.axflow.context.TenantId;
+import com.wangguangwu.axflow.validation.AxFlowBatchValidationException;
+import com.wangguangwu.axflow.validation.AxFlowBatchValidator;
+import com.wangguangwu.axflow.validation.AxFlowElementError;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * 批量参数绑定（Servlet 与响应式解析器共用）：请求体为 JSON 数组或 NDJSON，
+ * 元素从流中增量解析、逐个路由到租户子类，每读满一个分块（{@code axflow.batch.chunk-size}）并行校验一次。
+ *
+ * <ul>
+ *   <li>{@code List<Base>} / {@code Base[]}：读取全部元素；任一元素校验失败时抛出
+ *       {@link AxFlowBatchValidationException}，包含所有失败元素的下标与错误；</li>
+ *   <li>{@code AxFlowStream<Base>}：返回惰性流，处理方法遍历时才读取，元素边到达边处理。</li>
+ * </ul>
+ *
+ * <p>元素总数受 {@code axflow.batch.max-elements} 限制，超出时中止读取。</p>
+ *
+ * @author wangguangwu
+ */
+@Component
+public class AxFlowBatchResolver {
+
+    private final AxFlowBinderFactory binderFactory;
+    private final AxFlowBatchValidator batchValidator;
+    private final int maxElements;
+
+    public AxFlowBatchResolver(AxFlowBinderFactory binderFactory,
+                               AxFlowBatchValidator batchValidator,
+                               @Value("${axflow.batch.max-elements:100000}") int maxElements) {
+        this.binderFactory = binderFactory;
+        this.batchValidator = batchValidator;
+        this.maxElements = maxElements;
+    }
+
+    /**
+     * 按计划的参数形态绑定批量参数；调用前已完成 ACL 检查。
+     *
+     * @param format 请求体格式
+     * @param body   请求体流；空请求体传空流（得到空集合）
+     */
+    public Object resolve(MethodParameter parameter, AxFlowPlan plan, AxFlowBodyFormat format, InputStream body) {
+        ElementStream<Object> stream = new ElementStream<>(parameter, plan,
+                binderFactory.readElements(plan.binder(), format, body, plan.baseType()));
+        if (plan.shape() == AxFlowPlan.Shape.STREAM) {
+            return stream;
+        }
+
+        List<Object> values = new ArrayList<>();
+        List<AxFlowElementError> errors = new ArrayList<>();
+        stream.forEach(values::add, errors::add);
+        if (!errors.isEmpty()) {
+            throw new AxFlowBatchValidationException(errors);
+        }
+        if (plan.shape() == AxFlowPlan.Shape.ARRAY) {
+            return values.toArray((Object[]) Array.newInstance(plan.baseType(), values.size()));
+        }
+        return values;
+    }
+
+    /**
+     * 分块读取的元素流：每次填充一个分块并校验，再按顺序交出。
+     * 读取时临时恢复创建时的租户，使遍历发生在其他线程（如响应式处理方法）时路由仍然正确。
+     */
+    private final class ElementStream<T> implements AxFlowStream<T> {
+
+        private final MethodParameter parameter;
+        private final AxFlowPlan plan;
+        private final AxFlowBinderFactory.ElementReader reader;
+        private final TenantId tenant;
+
+        private final List<Object> chunk = new ArrayList<>();
+        private List<AxFlowElementError> errors = List.of();
+        private int offset;
+        private int count;
+        private boolean started;
+        private boolean exhausted;
+
+        ElementStream(MethodParameter parameter, AxFlowPlan plan, AxFlowBinderFactory.ElementReader reader) {
+            this.parameter = parameter;
+            this.plan = plan;
+            this.reader = reader;
+            this.tenant = TenantContext.getTenant();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEach(Consumer<? super T> onValid, Consumer<AxFlowElementError> onInvalid) {
+            start();
+            while (fill()) {
+                int e = 0;
+                for (int i = 0; i < chunk.size(); i++) {
+                    if (e < errors.size() && errors.get(e).index() == offset + i) {
+                        onInvalid.accept(errors.get(e++));
+                    } else {
+                        onValid.accept((T) chunk.get(i));
+                    }
+                }
+            }
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            start();
+            return new Iterator<>() {
+
+                private int next;
+
+                @Override
+                public boolean hasNext() {
+                    while (next >= chunk.size()) {
+                        if (!fill()) {
+                            return false;
+                        }
+                        next = 0;
+                        if (!errors.isEmpty()) {
+                            // 整块不交出；调用方捕获后继续遍历将从下一块开始
+                            chunk.clear();
+                            throw new AxFlowBatchValidationException(errors);
+                        }
+                    }
+                    return true;
+                }
+
+                @Override
+                @SuppressWarnings("unchecked")
+                public T next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return (T) chunk.get(next++);
+                }
+            };
+        }
+
+        @Override
+        public int count() {
+            return count;
+        }
+
+        private void start() {
+            if (started) {
+                throw new IllegalStateException("AxFlowStream 只能遍历一次");
+            }
+            started = true;
+        }
+
+        /**
+         * 读取并校验下一个分块（以创建时的租户执行）；没有更多元素时返回 false。
+         */
+        private boolean fill() {
+            if (exhausted) {
+                chunk.clear();
+                return false;
+            }
+            offset = count;
+            chunk.clear();
+            errors = List.of();
+            TenantContext.runWith(tenant, this::readChunk);
+            return !chunk.isEmpty();
+        }
+
+        private void readChunk() {
+            int size = batchValidator.chunkSize();
+            while (chunk.size() < size) {
+                Object value = reader.next();
+                if (value == null) {
+                    exhausted = true;
+                    break;
+                }
+                if (++count > maxElements) {
+                    reader.close();
+                    throw new IllegalArgumentException("批量元素数超过上限: " + maxElements);
+                }
+                chunk.add(value);
+            }
+            if (!chunk.isEmpty() && plan.axFlow().validate()) {
+                errors = batchValidator.validate(parameter, plan.baseType(), chunk, offset, plan.axFlow().groups());
+            }
+        }
+    }
+}
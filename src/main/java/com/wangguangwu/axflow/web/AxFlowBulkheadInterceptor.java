@@ -0,0 +1,63 @@
+package com.wangguangwu.axflow.web;
+
+import com.wangguangwu.axflow.context.TenantContext;
+import com.wangguangwu.axflow.context.TenantId;
+import com.wangguangwu.axflow.limit.AxFlowBulkhead;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+
+/**
+ * 为 {@code @AxFlow(bulkhead = true)} 的处理方法获取租户舱壁许可（在 {@link TenantInterceptor} 之后执行），
+ * 请求完成时释放；舱壁已满且排队超时则直接写出预序列化的 503 响应。
+ *
+ * @author wangguangwu
+ */
+@Component
+public class AxFlowBulkheadInterceptor implements HandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = AxFlowBulkheadInterceptor.class.getName() + ".permit";
+
+    private final AxFlowBulkhead bulkhead;
+    private final AxFlowPlanRegistry planRegistry;
+    private final AxFlowRejections rejections;
+
+    public AxFlowBulkheadInterceptor(AxFlowBulkhead bulkhead, AxFlowPlanRegistry planRegistry, AxFlowRejections rejections) {
+        this.bulkhead = bulkhead;
+        this.planRegistry = planRegistry;
+        this.rejections = rejections;
+    }
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler) throws IOException {
+        if (!bulkhead.enabled() || !(handler instanceof HandlerMethod hm)) {
+            return true;
+        }
+        AxFlowPlan plan = planRegistry.planOf(hm.getMethod());
+        TenantId tenant = TenantContext.getTenant();
+        if (plan == null || !plan.axFlow().bulkhead() || tenant == null) {
+            return true;
+        }
+        AxFlowBulkhead.Permit permit = bulkhead.tryAcquire(tenant);
+        if (permit == null) {
+            AxFlowAdaptiveLimitInterceptor.markShortCircuited(request);
+            rejections.writeBulkheadFull(response, tenant);
+            return false;
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, permit);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof AxFlowBulkhead.Permit permit) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            permit.release();
+        }
+    }
+}
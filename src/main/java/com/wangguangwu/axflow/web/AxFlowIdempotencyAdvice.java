@@ -0,0 +1,75 @@
+package com.wangguangwu.axflow.web;
+
+import com.wangguangwu.axflow.binding.AxFlowBodyFormat;
+import com.wangguangwu.axflow.binding.AxFlowBodyFormats;
+import com.wangguangwu.axflow.common.ApiResultHttpMessageConverter;
+import com.wangguangwu.axflow.dto.ApiResult;
+import com.wangguangwu.axflow.idempotency.AxFlowIdempotencyCache;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.io.IOException;
+
+/**
+ * 幂等执行者的响应写出前，把成功的 {@link ApiResult}（code 为 2xx）序列化后存入幂等缓存
+ * （JSON 与响应使用同一个 {@link ApiResultHttpMessageConverter}，Smile / CBOR 使用 {@link AxFlowBodyFormats} 的 ObjectMapper，
+ * 回放字节与首次响应一致）。
+ *
+ * <p>只有持有 {@link AxFlowIdempotencyInterceptor} 凭证的请求才会序列化；
+ * 错误响应（校验失败、异常兜底等）不缓存，凭证在请求结束时释放，重试会重新执行。</p>
+ *
+ * @author wangguangwu
+ */
+@Slf4j
+@ControllerAdvice
+public class AxFlowIdempotencyAdvice implements ResponseBodyAdvice<Object> {
+
+    private final AxFlowIdempotencyCache cache;
+    private final ApiResultHttpMessageConverter writer;
+    private final AxFlowBodyFormats formats;
+
+    public AxFlowIdempotencyAdvice(AxFlowIdempotencyCache cache, ApiResultHttpMessageConverter writer,
+                                   AxFlowBodyFormats formats) {
+        this.cache = cache;
+        this.writer = writer;
+        this.formats = formats;
+    }
+
+    @Override
+    public boolean supports(@NonNull MethodParameter returnType, @NonNull Class<? extends HttpMessageConverter<?>> converterType) {
+        return cache.enabled();
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, @NonNull MethodParameter returnType, @NonNull MediaType contentType,
+                                  @NonNull Class<? extends HttpMessageConverter<?>> converterType,
+                                  @NonNull ServerHttpRequest request, @NonNull ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest sr)
+                || !(sr.getServletRequest().getAttribute(AxFlowIdempotencyInterceptor.TICKET_ATTRIBUTE)
+                instanceof AxFlowIdempotencyCache.Ticket ticket)) {
+            return body;
+        }
+        if (body instanceof ApiResult<?> result && result.getCode() >= 200 && result.getCode() < 300) {
+            int status = response instanceof ServletServerHttpResponse r ? r.getServletResponse().getStatus() : 200;
+            try {
+                AxFlowBodyFormat format = AxFlowBodyFormat.of(contentType);
+                byte[] bytes = format == AxFlowBodyFormat.JSON
+                        ? writer.toBytes(result)
+                        : formats.writerMapper(format).writeValueAsBytes(result);
+                ticket.complete(status, contentType.toString(), bytes);
+            } catch (IOException e) {
+                log.warn("幂等响应序列化失败，不缓存: {}", e.getMessage());
+            }
+        }
+        return body;
+    }
+}
@@ -0,0 +1,175 @@
+package com.wangguangwu.axflow.web;
+
+import com.wangguangwu.axflow.context.TenantContext;
+import com.wangguangwu.axflow.context.TenantId;
+import com.wangguangwu.axflow.idempotency.AxFlowIdempotencyCache;
+import com.wangguangwu.axflow.idempotency.AxFlowIdempotencyCache.Claim;
+import com.wangguangwu.axflow.idempotency.AxFlowIdempotencyProperties;
+import com.wangguangwu.axflow.metrics.AxFlowMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 为 {@code @AxFlow(idempotent = true)} 的处理方法提供幂等回放（在 {@link TenantInterceptor} 之后、自适应并发与舱壁之前执行）。
+ * 限流在 {@link TenantInterceptor} 内完成，因此回放与合并的请求仍消耗租户的令牌，但不占用自适应并发与舱壁额度。
+ *
+ * <ul>
+ *   <li>键：(租户, 处理方法完整签名, 幂等键)；幂等键取自请求头（默认 {@code Idempotency-Key}），
+ *       缺省时读取完整请求体计算 SHA-256，请求体缓存在请求属性上供参数解析器复用；</li>
+ *   <li>命中：直接写出缓存的响应，附带 {@code Idempotent-Replayed: true}；</li>
+ *   <li>同键请求执行中：等待其结果（最多 {@code wait-timeout}）后回放，超时写出 409；等待期间占用 Servlet 工作线程，
+ *       因此每个键最多 {@code max-waiters} 个请求等待，超出的请求直接写出 409；</li>
+ *   <li>执行者的成功响应由 {@link AxFlowIdempotencyAdvice} 写入缓存；请求结束仍未写入（异常、被限流等）时释放该键。</li>
+ * </ul>
+ *
+ * @author wangguangwu
+ */
+@Component
+public class AxFlowIdempotencyInterceptor implements HandlerInterceptor {
+
+    /**
+     * 执行者凭证所在的请求属性
+     */
+    static final String TICKET_ATTRIBUTE = AxFlowIdempotencyInterceptor.class.getName() + ".ticket";
+
+    /**
+     * 回放响应的标记头
+     */
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    /**
+     * 执行者放弃后，等待者重新竞争的最大次数；仍未拿到结果时直接执行，不再合并
+     */
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final AxFlowIdempotencyCache cache;
+    private final AxFlowPlanRegistry planRegistry;
+    private final AxFlowRejections rejections;
+    private final AxFlowMetrics metrics;
+    private final int maxBodySize;
+
+    public AxFlowIdempotencyInterceptor(AxFlowIdempotencyCache cache, AxFlowPlanRegistry planRegistry,
+                                        AxFlowRejections rejections, AxFlowMetrics metrics,
+                                        @Value("${axflow.body.max-size:10485760}") int maxBodySize) {
+        this.cache = cache;
+        this.planRegistry = planRegistry;
+        this.rejections = rejections;
+        this.metrics = metrics;
+        this.maxBodySize = maxBodySize;
+    }
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler) throws IOException {
+        if (!cache.enabled() || !(handler instanceof HandlerMethod hm)) {
+            return true;
+        }
+        AxFlowPlan plan = planRegistry.planOf(hm.getMethod());
+        TenantId tenant = TenantContext.getTenant();
+        if (plan == null || !plan.axFlow().idempotent() || tenant == null) {
+            return true;
+        }
+
+        AxFlowIdempotencyCache.Key key = new AxFlowIdempotencyCache.Key(tenant.value(), plan.signature(), tokenOf(request));
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            Claim claim = cache.claim(key);
+            if (claim instanceof Claim.Hit hit) {
+                metrics.idempotency(tenant, "hit");
+                writeReplay(response, hit.replay());
+                return false;
+            }
+            if (claim instanceof Claim.Leader leader) {
+                request.setAttribute(TICKET_ATTRIBUTE, leader.ticket());
+                metrics.idempotency(tenant, "miss");
+                return true;
+            }
+            if (claim instanceof Claim.Busy) {
+                metrics.idempotency(tenant, "conflict");
+                rejections.writeInProgress(response, tenant);
+                return false;
+            }
+            Claim.Follower follower = (Claim.Follower) claim;
+            AxFlowIdempotencyCache.Replay replay;
+            try {
+                replay = await(follower.result());
+            } catch (TimeoutException e) {
+                metrics.idempotency(tenant, "conflict");
+                rejections.writeInProgress(response, tenant);
+                return false;
+            } finally {
+                follower.leave();
+            }
+            if (replay != null) {
+                metrics.idempotency(tenant, "coalesced");
+                writeReplay(response, replay);
+                return false;
+            }
+        }
+        metrics.idempotency(tenant, "miss");
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler, Exception ex) {
+        if (request.getAttribute(TICKET_ATTRIBUTE) instanceof AxFlowIdempotencyCache.Ticket ticket) {
+            request.removeAttribute(TICKET_ATTRIBUTE);
+            // 已由 AxFlowIdempotencyAdvice 写入结果时不生效
+            ticket.abandon();
+        }
+    }
+
+    private String tokenOf(HttpServletRequest request) throws IOException {
+        AxFlowIdempotencyProperties p = cache.properties();
+        String header = request.getHeader(p.header());
+        if (header != null && !header.isBlank()) {
+            String v = header.trim();
+            if (v.length() > p.maxKeyLength()) {
+                throw new IllegalArgumentException("幂等键过长: 最多 " + p.maxKeyLength() + " 个字符");
+            }
+            return "key:" + v;
+        }
+        byte[] body = AxFlowRequestBody.readFully(request, maxBodySize);
+        request.setAttribute(AxFlowRequestBody.CACHED_ATTRIBUTE, body);
+        return "sha256:" + Base64.getUrlEncoder().withoutPadding().encodeToString(sha256().digest(body));
+    }
+
+    private AxFlowIdempotencyCache.Replay await(CompletableFuture<AxFlowIdempotencyCache.Replay> result) throws TimeoutException {
+        try {
+            return result.get(cache.properties().waitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("等待被中断");
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    private static void writeReplay(HttpServletResponse response, AxFlowIdempotencyCache.Replay replay) throws IOException {
+        response.setStatus(replay.status());
+        response.setContentType(replay.contentType());
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(replay.body().length);
+        response.getOutputStream().write(replay.body());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.wangguangwu.axflow.web;
+
+import com.wangguangwu.axflow.annotation.AxFlow;
+import com.wangguangwu.axflow.binding.AxFlowBinder;
+import com.wangguangwu.axflow.binding.AxFlowStream;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 单个 {@link AxFlow} 处理方法的预编译执行计划（不可变）。
+ *
+ * <p>在映射注册完成后一次性构建：注解合并、参数选择、ACL 规整、Binder 选择都在此完成，
+ * 请求热路径只需一次 Map 查找，不再触发反射。</p>
+ *
+ * @param axFlow     合并后的方法级注解
+ * @param paramIndex 被绑定的参数索引；-1 表示该方法没有可绑定的参数
+ * @param shape      参数形态：单个对象，或 List / 数组 / {@link AxFlowStream} 批量
+ * @param baseType   路由基类：单个对象时为参数声明类型，批量时为元素类型
+ * @param binder     为 baseType 选定的 Binder
+ * @param acl        预编译的租户访问控制
+ * @param route      路由标识（{@code 类简单名#方法名}），用于按路由配置限流等策略
+ * @param signature  方法的完整签名（{@code 声明类全名#方法名(参数类型全名,...)}），重载方法与不同包的同名类互不相同，
+ *                   用于幂等缓存等不能混用的键
+ * @author wangguangwu
+ */
+public record AxFlowPlan(AxFlow axFlow,
+                         int paramIndex,
+                         Shape shape,
+                         Class<?> baseType,
+                         AxFlowBinder binder,
+                         TenantAcl acl,
+                         String route,
+                         String signature) {
+
+    /**
+     * 是否为该计划选中的参数。
+     */
+    public boolean isSelected(int parameterIndex) {
+        return paramIndex >= 0 && paramIndex == parameterIndex;
+    }
+
+    /**
+     * 被绑定参数的形态。
+     */
+    public enum Shape {
+        /**
+         * 单个对象
+         */
+        SINGLE,
+        /**
+         * {@code List<Base>}（或 Collection / Iterable）：读取全部元素并校验后一次性交给处理方法
+         */
+        LIST,
+        /**
+         * {@code Base[]}：同 LIST
+         */
+        ARRAY,
+        /**
+         * {@link AxFlowStream}：处理方法遍历时增量读取
+         */
+        STREAM;
+
+        public boolean isBatch() {
+            return this != SINGLE;
+        }
+    }
+
+    /**
+     * 预编译的白名单/黑名单：名单已去空白并哈希化，通配符 "*" 单独记为标志位。
+     *
+     * @param configured  是否配置了任一名单（两者皆空时默认拒绝）
+     * @param allowList   是否配置了白名单
+     * @param allowAll    白名单中是否包含 "*"
+     * @param allowed     白名单集合
+     * @param denyAll     黑名单中是否包含 "*"
+     * @param denied      黑名单集合
+     */
+    public record TenantAcl(boolean configured,
+                            boolean allowList,
+                            boolean allowAll,
+                            Set<String> allowed,
+                            boolean denyAll,
+                            Set<String> denied) {
+
+        private static final String WILDCARD = "*";
+
+        public static TenantAcl of(AxFlow ax) {
+            Set<String> allowed = normalize(ax.allowedTenants());
+            Set<String> denied = normalize(ax.deniedTenants());
+            return new TenantAcl(
+                    ax.allowedTenants().length > 0 || ax.deniedTenants().length > 0,
+                    ax.allowedTenants().length > 0,
+                    allowed.contains(WILDCARD),
+                    allowed,
+                    denied.contains(WILDCARD),
+                    denied);
+        }
+
+        /**
+         * 校验租户是否可访问：未配置名单默认拒绝；黑名单优先，其次白名单。
+         *
+         * @param tenantId 当前租户 ID（已规整），可为空串
+         */
+        public void check(String tenantId) {
+            String reason = rejection(tenantId);
+            if (reason != null) {
+                throw new IllegalArgumentException(reason);
+            }
+        }
+
+        /**
+         * 同 {@link #check(String)}，但不抛异常：可访问时返回 null，否则返回拒绝原因。
+         */
+        public String rejection(String tenantId) {
+            if (!configured) {
+                return "no tenant access config, reject by default: " + display(tenantId);
+            }
+            if (denyAll || denied.contains(tenantId)) {
+                return "tenant denied: " + display(tenantId);
+            }
+            if (allowList && !allowAll && !allowed.contains(tenantId)) {
+                return "tenant not allowed: " + display(tenantId);
+            }
+            return null;
+        }
+
+        private static String display(String tenantId) {
+            return tenantId.isEmpty() ? "<empty>" : tenantId;
+        }
+
+        private static Set<String> normalize(String[] configured) {
+            return Arrays.stream(configured)
+                    .filter(c -> c != null && !c.isBlank())
+                    .map(String::trim)
+                    .collect(Collectors.toUnmodifiableSet());
+        }
+    }
+}
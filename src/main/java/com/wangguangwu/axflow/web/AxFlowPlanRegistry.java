@@ -0,0 +1,217 @@
+package com.wangguangwu.axflow.web;
+
+import com.wangguangwu.axflow.annotation.AxFlow;
+import com.wangguangwu.axflow.binding.AxFlowBinderFactory;
+import com.wangguangwu.axflow.binding.AxFlowStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * {@link AxFlowPlan} 注册中心：在请求映射注册完成后（{@link ContextRefreshedEvent}）
+ * 为每个带 {@link AxFlow} 的 {@link HandlerMethod} 预编译执行计划。
+ *
+ * <p>参数选择顺序：paramIndex > paramName > 自动推断唯一复杂对象。
+ * 参数为 {@code List<Base>}、{@code Base[]} 或 {@code AxFlowStream<Base>} 时按批量处理，以元素类型作为路由基类。</p>
+ *
+ * <p>未在映射表中出现的方法（例如手工调用）在首次访问时按需编译并缓存。</p>
+ *
+ * @author wangguangwu
+ */
+@Component
+public class AxFlowPlanRegistry {
+
+    private final ApplicationContext applicationContext;
+    private final AxFlowBinderFactory binderFactory;
+    private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+
+    private final Map<Method, AxFlowPlan> plans = new ConcurrentHashMap<>();
+
+    public AxFlowPlanRegistry(ApplicationContext applicationContext, AxFlowBinderFactory binderFactory) {
+        this.applicationContext = applicationContext;
+        this.binderFactory = binderFactory;
+    }
+
+    /**
+     * 映射注册完成后批量编译：遍历所有 RequestMappingHandlerMapping 的 HandlerMethod。
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    public void onContextRefreshed() {
+        plans.clear();
+        for (RequestMappingHandlerMapping mapping :
+                applicationContext.getBeansOfType(RequestMappingHandlerMapping.class).values()) {
+            for (HandlerMethod hm : mapping.getHandlerMethods().values()) {
+                planOf(hm.getMethod());
+            }
+        }
+    }
+
+    /**
+     * 查找参数所属方法的执行计划；方法未标注 {@link AxFlow} 时返回 null。
+     */
+    public @Nullable AxFlowPlan planOf(MethodParameter parameter) {
+        Method method = parameter.getMethod();
+        return method == null ? null : planOf(method);
+    }
+
+    /**
+     * 查找方法的执行计划；方法未标注 {@link AxFlow} 时返回 null。
+     */
+    public @Nullable AxFlowPlan planOf(Method method) {
+        AxFlowPlan plan = plans.get(method);
+        if (plan != null) {
+            return plan;
+        }
+        AxFlow ax = AnnotatedElementUtils.findMergedAnnotation(method, AxFlow.class);
+        if (ax == null) {
+            return null;
+        }
+        return plans.computeIfAbsent(method, m -> compile(m, ax));
+    }
+
+    // ===================== 内部：编译 =====================
+
+    private AxFlowPlan compile(Method method, AxFlow ax) {
+        int index = selectParameter(method, ax);
+        AxFlowPlan.Shape shape = index >= 0 ? shapeOf(method.getParameterTypes()[index]) : AxFlowPlan.Shape.SINGLE;
+        Class<?> baseType = index >= 0 ? baseTypeOf(new MethodParameter(method, index), shape) : Void.class;
+        return new AxFlowPlan(
+                ax,
+                index,
+                shape,
+                baseType,
+                index >= 0 ? binderFactory.resolveBinder(baseType) : null,
+                AxFlowPlan.TenantAcl.of(ax),
+                routeOf(method),
+                signatureOf(method));
+    }
+
+    /**
+     * 参数形态：{@link AxFlowStream}、可由 ArrayList 承载的集合接口、引用类型数组为批量，其余为单个对象。
+     */
+    private static AxFlowPlan.Shape shapeOf(Class<?> type) {
+        if (type == AxFlowStream.class) {
+            return AxFlowPlan.Shape.STREAM;
+        }
+        if (type.isArray() && !type.getComponentType().isPrimitive()) {
+            return AxFlowPlan.Shape.ARRAY;
+        }
+        if (Iterable.class.isAssignableFrom(type) && type.isAssignableFrom(ArrayList.class)) {
+            return AxFlowPlan.Shape.LIST;
+        }
+        return AxFlowPlan.Shape.SINGLE;
+    }
+
+    /**
+     * 路由基类：批量参数取元素类型（泛型未声明时启动即报错）。
+     */
+    private static Class<?> baseTypeOf(MethodParameter parameter, AxFlowPlan.Shape shape) {
+        Class<?> element = switch (shape) {
+            case SINGLE -> parameter.getParameterType();
+            case ARRAY -> parameter.getParameterType().getComponentType();
+            case LIST -> ResolvableType.forMethodParameter(parameter).as(Iterable.class).resolveGeneric(0);
+            case STREAM -> ResolvableType.forMethodParameter(parameter).as(AxFlowStream.class).resolveGeneric(0);
+        };
+        if (element == null) {
+            throw new IllegalStateException("@AxFlow 批量参数必须声明元素类型: " + parameter.getMethod());
+        }
+        return element;
+    }
+
+    /**
+     * 路由标识：{@code 类简单名#方法名}
+     */
+    static String routeOf(Method method) {
+        return method.getDeclaringClass().getSimpleName() + "#" + method.getName();
+    }
+
+    /**
+     * 完整签名：{@code 声明类全名#方法名(参数类型全名,...)}
+     */
+    static String signatureOf(Method method) {
+        return Arrays.stream(method.getParameterTypes())
+                .map(Class::getTypeName)
+                .collect(Collectors.joining(",", method.getDeclaringClass().getName() + "#" + method.getName() + "(", ")"));
+    }
+
+    private int selectParameter(Method method, AxFlow ax) {
+        if (ax.paramIndex() >= 0) {
+            return ax.paramIndex() < method.getParameterCount() ? ax.paramIndex() : -1;
+        }
+        if (!ax.paramName().isBlank()) {
+            String[] names = parameterNameDiscoverer.getParameterNames(method);
+            if (names == null) {
+                return -1;
+            }
+            for (int i = 0; i < names.length; i++) {
+                if (ax.paramName().equals(names[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        return theOnlyComplexParam(method);
+    }
+
+    private int theOnlyComplexParam(Method method) {
+        int found = -1;
+        for (int i = 0; i < method.getParameterCount(); i++) {
+            if (isComplex(new MethodParameter(method, i))) {
+                if (found >= 0) {
+                    return -1;
+                }
+                found = i;
+            }
+        }
+        return found;
+    }
+
+    private boolean isComplex(MethodParameter p) {
+        Class<?> t = p.getParameterType();
+        if (isSimpleValueType(t)) {
+            return false;
+        }
+        if (ServletRequest.class.isAssignableFrom(t) || HttpServletResponse.class.isAssignableFrom(t)) {
+            return false;
+        }
+        for (Annotation a : p.getParameterAnnotations()) {
+            if (a.annotationType() == RequestParam.class ||
+                    a.annotationType() == PathVariable.class ||
+                    a.annotationType() == RequestHeader.class) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isSimpleValueType(Class<?> clazz) {
+        return ClassUtils.isPrimitiveOrWrapper(clazz)
+                || CharSequence.class.isAssignableFrom(clazz)
+                || Number.class.isAssignableFrom(clazz)
+                || java.util.Date.class.isAssignableFrom(clazz)
+                || clazz.isEnum();
+    }
+}
@@ -0,0 +1,38 @@
+package com.wangguangwu.axflow.web;
+
+import com.wangguangwu.axflow.context.TenantId;
+
+import java.io.Serial;
+
+/**
+ * 租户被拒绝（缺失租户、@AxFlow 白名单/黑名单不通过）。
+ *
+ * <p>不采集堆栈：拒绝是预期内的高频结果（如被拒租户的滥用流量），堆栈没有诊断价值却占用大量 CPU。
+ * 继承 {@link IllegalArgumentException} 以兼容原有的异常语义，由 {@link AxFlowRejections} 写出预序列化的响应。</p>
+ *
+ * @author wangguangwu
+ */
+public class AxFlowRejectedException extends IllegalArgumentException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final transient TenantId tenant;
+
+    public AxFlowRejectedException(String message, TenantId tenant) {
+        super(message);
+        this.tenant = tenant;
+    }
+
+    /**
+     * 被拒绝的租户；缺失租户时为 null
+     */
+    public TenantId getTenant() {
+        return tenant;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
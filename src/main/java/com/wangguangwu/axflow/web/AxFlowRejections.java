@@ -0,0 +1,226 @@
+package com.wangguangwu.axflow.web;
+
+import com.wangguangwu.axflow.common.ApiResultEnvelopes;
+import com.wangguangwu.axflow.context.TenantId;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 租户拒绝（缺失租户、ACL、限流、舱壁、过载削减、幂等键冲突）的快速路径：直接写出预序列化的 {@code ApiResult} 错误体，并按租户限流采样日志。
+ *
+ * <ul>
+ *   <li>响应体与原有异常链产生的 {@code ApiResult.error(400, message)} 字段一致（HTTP 200，body.code=400）；
+ *       限流响应为 HTTP 429，body.code=429；舱壁已满、过载削减为 HTTP 503，body.code=503；
+ *       幂等键冲突为 HTTP 409，body.code=409；</li>
+ *   <li>缺失租户的响应体启动时序列化一次；ACL 拒绝的响应体只为已登记租户按消息缓存（数量有上限），
+ *       消息中回显的未登记租户头每次按需序列化，避免外部输入占住缓存；</li>
+ *   <li>日志：每个租户每个 {@code axflow.rejection.log.interval} 内最多输出 {@code burst} 条 WARN，
+ *       其余计入抑制数并在下一条日志中汇总；未登记租户共用一个桶，避免外部输入撑大统计表。</li>
+ * </ul>
+ *
+ * @author wangguangwu
+ */
+@Slf4j
+@Component
+public class AxFlowRejections {
+
+    /**
+     * 缺失租户的提示（与原异常链的输出保持一致）
+     */
+    public static final String MISSING_TENANT_MESSAGE = "系统内部错误: 请求头缺少租户ID";
+
+    /**
+     * 被限流的提示
+     */
+    public static final String RATE_LIMITED_MESSAGE = "请求过于频繁，请稍后重试";
+
+    /**
+     * 舱壁已满的提示
+     */
+    public static final String BULKHEAD_FULL_MESSAGE = "租户并发已满，请稍后重试";
+
+    /**
+     * 请求体为空的提示（servlet 与 reactive 两种解析器共用）
+     */
+    public static final String EMPTY_BODY_MESSAGE = "请求体为空";
+
+    /**
+     * 被自适应并发限制削减的提示
+     */
+    public static final String OVERLOADED_MESSAGE = "服务繁忙，请稍后重试";
+
+    /**
+     * 相同幂等键的请求仍在执行的提示
+     */
+    public static final String IDEMPOTENCY_IN_PROGRESS_MESSAGE = "相同幂等键的请求正在处理，请稍后重试";
+
+    private static final int REJECT_CODE = 400;
+    private static final int CONFLICT_CODE = 409;
+    private static final int UNAVAILABLE_CODE = 503;
+    private static final int RATE_LIMITED_CODE = 429;
+    private static final int MAX_CACHED_BODIES = 1024;
+    private static final String MISSING_KEY = "<missing>";
+    private static final String UNKNOWN_KEY = "<unknown>";
+
+    private final byte[] missingTenantBody = ApiResultEnvelopes.body(REJECT_CODE, MISSING_TENANT_MESSAGE);
+    private final byte[] rateLimitedBody = ApiResultEnvelopes.body(RATE_LIMITED_CODE, RATE_LIMITED_MESSAGE);
+    private final byte[] bulkheadFullBody = ApiResultEnvelopes.body(UNAVAILABLE_CODE, BULKHEAD_FULL_MESSAGE);
+    private final byte[] overloadedBody = ApiResultEnvelopes.body(UNAVAILABLE_CODE, OVERLOADED_MESSAGE);
+    private final byte[] inProgressBody = ApiResultEnvelopes.body(CONFLICT_CODE, IDEMPOTENCY_IN_PROGRESS_MESSAGE);
+    private final Map<String, byte[]> bodies = new ConcurrentHashMap<>();
+
+    private final int logBurst;
+    private final long logIntervalNanos;
+    private final Map<String, LogWindow> windows = new ConcurrentHashMap<>();
+
+    public AxFlowRejections(@Value("${axflow.rejection.log.burst:5}") int logBurst,
+                            @Value("${axflow.rejection.log.interval:10s}") Duration logInterval) {
+        this.logBurst = logBurst;
+        this.logIntervalNanos = logInterval.toNanos();
+    }
+
+    /**
+     * 直接写出缺失租户的响应（不经过 MVC 异常链）。
+     */
+    public void writeMissingTenant(HttpServletResponse response) throws IOException {
+        log(null, MISSING_TENANT_MESSAGE, null);
+        write(response, HttpServletResponse.SC_OK, missingTenantBody);
+    }
+
+    /**
+     * 缺失租户的预序列化响应体（供非 Servlet 环境自行写出，HTTP 200）。
+     */
+    public byte[] missingTenant() {
+        log(null, MISSING_TENANT_MESSAGE, null);
+        return missingTenantBody;
+    }
+
+    /**
+     * 直接写出限流响应：HTTP 429，body.code=429。
+     *
+     * @param scope 触发限流的维度（"tenant" 或路由标识）
+     */
+    public void writeRateLimited(HttpServletResponse response, TenantId tenant, String scope) throws IOException {
+        log(tenant, RATE_LIMITED_MESSAGE, scope);
+        write(response, RATE_LIMITED_CODE, rateLimitedBody);
+    }
+
+    /**
+     * 直接写出舱壁已满响应：HTTP 503，body.code=503。
+     */
+    public void writeBulkheadFull(HttpServletResponse response, TenantId tenant) throws IOException {
+        log(tenant, BULKHEAD_FULL_MESSAGE, null);
+        write(response, UNAVAILABLE_CODE, bulkheadFullBody);
+    }
+
+    /**
+     * 直接写出过载削减响应：HTTP 503，body.code=503。
+     */
+    public void writeOverloaded(HttpServletResponse response, TenantId tenant) throws IOException {
+        log(tenant, OVERLOADED_MESSAGE, null);
+        write(response, UNAVAILABLE_CODE, overloadedBody);
+    }
+
+    /**
+     * 直接写出幂等键冲突响应（同键请求执行中且等待超时）：HTTP 409，body.code=409。
+     */
+    public void writeInProgress(HttpServletResponse response, TenantId tenant) throws IOException {
+        log(tenant, IDEMPOTENCY_IN_PROGRESS_MESSAGE, null);
+        write(response, CONFLICT_CODE, inProgressBody);
+    }
+
+    private static void write(HttpServletResponse response, int status, byte[] body) throws IOException {
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * 将拒绝异常转换为预序列化的响应。
+     */
+    public ResponseEntity<byte[]> toResponse(AxFlowRejectedException ex) {
+        log(ex.getTenant(), ex.getMessage(), null);
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(bodyOf(ex.getTenant(), ex.getMessage()));
+    }
+
+    private byte[] bodyOf(TenantId tenant, String message) {
+        if (tenant == null || !tenant.isKnown()) {
+            return ApiResultEnvelopes.body(REJECT_CODE, message);
+        }
+        byte[] body = bodies.get(message);
+        if (body != null) {
+            return body;
+        }
+        body = ApiResultEnvelopes.body(REJECT_CODE, message);
+        if (bodies.size() < MAX_CACHED_BODIES) {
+            bodies.putIfAbsent(message, body);
+        }
+        return body;
+    }
+
+    private void log(TenantId tenant, String message, String scope) {
+        if (!log.isWarnEnabled()) {
+            return;
+        }
+        String key = tenant == null ? MISSING_KEY : tenant.isKnown() ? tenant.value() : UNKNOWN_KEY;
+        LogWindow window = windows.get(key);
+        if (window == null) {
+            window = windows.computeIfAbsent(key, k -> new LogWindow(System.nanoTime()));
+        }
+        if (window.tryAcquire(System.nanoTime(), logIntervalNanos, logBurst)) {
+            long suppressed = window.suppressed.sumThenReset();
+            if (scope == null) {
+                log.warn("租户请求被拒绝: tenant={}, reason={}, suppressed={}",
+                        tenant == null ? MISSING_KEY : tenant.value(), message, suppressed);
+            } else {
+                log.warn("租户请求被拒绝: tenant={}, reason={}, scope={}, suppressed={}",
+                        tenant == null ? MISSING_KEY : tenant.value(), message, scope, suppressed);
+            }
+        }
+    }
+
+    /**
+     * 固定窗口计数：窗口内前 burst 次放行，其余计入抑制数
+     */
+    private static final class LogWindow {
+
+        private volatile long windowStart;
+        private final AtomicInteger logged = new AtomicInteger();
+        private final LongAdder suppressed = new LongAdder();
+
+        LogWindow(long now) {
+            this.windowStart = now;
+        }
+
+        boolean tryAcquire(long now, long intervalNanos, int burst) {
+            if (now - windowStart >= intervalNanos) {
+                synchronized (this) {
+                    if (now - windowStart >= intervalNanos) {
+                        windowStart = now;
+                        logged.set(0);
+                    }
+                }
+            }
+            if (logged.incrementAndGet() <= burst) {
+                return true;
+            }
+            suppressed.increment();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.wangguangwu.axflow.web;
+
+import com.wangguangwu.axflow.concurrent.AxFlowExecutors;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.Arrays;
+
+/**
+ * 请求体读取工具：按 Binder 的 {@code BodyMode} 提供流式或缓冲两种读取方式。
+ *
+ * <ul>
+ *   <li>流式：不拷贝，只在 Content-Length 未知时窥探 1 字节判断是否为空体。</li>
+ *   <li>缓冲：Content-Length 已知且不超过 {@value #PRESIZE_MAX} 字节时按长度一次性分配；
+ *   更大或未知（chunked）时读入线程复用的缓冲区（虚拟线程上不复用），按实际读到的字节扩容后拷出，
+ *   不会按客户端声明的长度预先分配大数组。</li>
+ *   <li>缓冲读取的请求体不超过 {@code axflow.body.max-size}：声明的长度超出时直接拒绝，读取过程中超出时中止。</li>
+ * </ul>
+ *
+ * <p>请求体已被提前读取（如幂等拦截器按请求体摘要计算键）时，两种方式都直接使用缓存的字节。</p>
+ *
+ * @author wangguangwu
+ */
+final class AxFlowRequestBody {
+
+    private static final byte[] EMPTY = new byte[0];
+
+    /**
+     * 已提前读取的请求体（byte[]）所在的请求属性
+     */
+    static final String CACHED_ATTRIBUTE = AxFlowRequestBody.class.getName() + ".cached";
+
+    /**
+     * 复用缓冲区的初始大小与上限；超过上限的缓冲区用完即弃，不回收到线程上。
+     */
+    private static final int POOLED_INITIAL = 8 * 1024;
+    private static final int POOLED_MAX = 256 * 1024;
+
+    /**
+     * 按 Content-Length 预分配的上限
+     */
+    static final int PRESIZE_MAX = 64 * 1024;
+
+    private static final ThreadLocal<byte[]> POOL = ThreadLocal.withInitial(() -> new byte[POOLED_INITIAL]);
+
+    private AxFlowRequestBody() {
+    }
+
+    /**
+     * 打开请求流；请求体为空时返回 null。
+     */
+    static InputStream openStream(HttpServletRequest req) throws IOException {
+        if (req.getAttribute(CACHED_ATTRIBUTE) instanceof byte[] cached) {
+            return cached.length == 0 ? null : new ByteArrayInputStream(cached);
+        }
+        long length = req.getContentLengthLong();
+        if (length == 0) {
+            return null;
+        }
+        InputStream in = req.getInputStream();
+        if (length > 0) {
+            return in;
+        }
+        PushbackInputStream peek = new PushbackInputStream(in, 1);
+        int first = peek.read();
+        if (first < 0) {
+            return null;
+        }
+        peek.unread(first);
+        return peek;
+    }
+
+    /**
+     * 读取完整请求体。
+     *
+     * @param maxBytes 请求体上限（字节）
+     * @throws IllegalArgumentException 请求体超过上限
+     */
+    static byte[] readFully(HttpServletRequest req, int maxBytes) throws IOException {
+        if (req.getAttribute(CACHED_ATTRIBUTE) instanceof byte[] cached) {
+            return cached;
+        }
+        long length = req.getContentLengthLong();
+        if (length == 0) {
+            return EMPTY;
+        }
+        if (length > maxBytes) {
+            throw tooLarge(maxBytes);
+        }
+        InputStream in = req.getInputStream();
+        if (length > 0 && length <= PRESIZE_MAX) {
+            byte[] buf = new byte[(int) length];
+            int n = in.readNBytes(buf, 0, buf.length);
+            return n == buf.length ? buf : Arrays.copyOf(buf, n);
+        }
+        return readPooled(in, maxBytes);
+    }
+
+    private static byte[] readPooled(InputStream in, int maxBytes) throws IOException {
+        // 虚拟线程每请求一个，线程级缓冲区无法复用
+        boolean pooled = !AxFlowExecutors.isVirtualThread();
+        byte[] buf = pooled ? POOL.get() : new byte[POOLED_INITIAL];
+        int n = 0;
+        int r;
+        while ((r = in.read(buf, n, buf.length - n)) >= 0) {
+            n += r;
+            if (n > maxBytes) {
+                throw tooLarge(maxBytes);
+            }
+            if (n == buf.length) {
+                // 最多扩到 maxBytes + 1：多读 1 字节即可判定超限
+                buf = Arrays.copyOf(buf, (int) Math.min((long) buf.length << 1, Math.min((long) maxBytes + 1, Integer.MAX_VALUE - 8)));
+            }
+        }
+        if (pooled && buf.length <= POOLED_MAX) {
+            POOL.set(buf);
+        }
+        return n == 0 ? EMPTY : Arrays.copyOf(buf, n);
+    }
+
+    private static IllegalArgumentException tooLarge(int maxBytes) {
+        return new IllegalArgumentException("请求体过大: 最多 " + maxBytes + " 字节");
+    }
+}
@@ -1,14 +1,19 @@
 package com.wangguangwu.axflow.web;
 
 import com.wangguangwu.axflow.context.TenantContext;
+import com.wangguangwu.axflow.context.TenantId;
+import com.wangguangwu.axflow.limit.AxFlowRateLimiter;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.NonNull;
 import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerInterceptor;
 
+import java.io.IOException;
+
 /**
- * 在控制器前读取租户ID并写入 TenantContext；缺失时抛出 403。
+ * 在控制器前读取租户ID并写入 TenantContext；缺失或被限流时直接写出预序列化的错误响应并终止请求（不抛异常）。
  *
  * @author wangguangwu
  */
@@ -17,17 +22,47 @@ public class TenantInterceptor implements HandlerInterceptor {
 
     public static final String HEADER_TENANT = "X-Tenant-Id";
 
+    private final AxFlowRejections rejections;
+    private final AxFlowRateLimiter rateLimiter;
+    private final AxFlowPlanRegistry planRegistry;
+
+    public TenantInterceptor(AxFlowRejections rejections, AxFlowRateLimiter rateLimiter, AxFlowPlanRegistry planRegistry) {
+        this.rejections = rejections;
+        this.rateLimiter = rateLimiter;
+        this.planRegistry = planRegistry;
+    }
+
     @Override
-    public boolean preHandle(HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler) throws IllegalAccessException {
+    public boolean preHandle(HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler) throws IOException {
         String tenantId = request.getHeader(HEADER_TENANT);
         if (tenantId == null || tenantId.isBlank()) {
-            // 抛给 MVC 异常链，交由 @RestControllerAdvice 转成 ApiResult
-            throw new IllegalAccessException("请求头缺少租户ID");
+            // 快速拒绝：不走 MVC 异常链，直接写出与 ApiResult 一致的错误体
+            rejections.writeMissingTenant(response);
+            return false;
         }
-        TenantContext.setTenantId(tenantId.trim());
+        // 解析一次为规范 TenantId，后续路由只用其序号
+        TenantId tenant = TenantId.of(tenantId);
+
+        // 限流：租户维度 + @AxFlow 路由维度，拒绝时直接写出预序列化响应
+        if (rateLimiter.enabled()) {
+            String limited = rateLimiter.tryAcquire(tenant, routeOf(handler));
+            if (limited != null) {
+                rejections.writeRateLimited(response, tenant, limited);
+                return false;
+            }
+        }
+        TenantContext.setTenant(tenant);
         return true;
     }
 
+    private String routeOf(Object handler) {
+        if (handler instanceof HandlerMethod hm) {
+            AxFlowPlan plan = planRegistry.planOf(hm.getMethod());
+            return plan == null ? null : plan.route();
+        }
+        return null;
+    }
+
     @Override
     public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler, Exception ex) {
         TenantContext.clear();
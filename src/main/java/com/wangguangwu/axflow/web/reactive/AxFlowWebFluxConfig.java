@@ -0,0 +1,82 @@
+package com.wangguangwu.axflow.web.reactive;
+
+import com.wangguangwu.axflow.binding.AxFlowBinderFactory;
+import com.wangguangwu.axflow.idempotency.AxFlowIdempotencyCache;
+import com.wangguangwu.axflow.metrics.AxFlowMetrics;
+import com.wangguangwu.axflow.validation.AxFlowValidationService;
+import com.wangguangwu.axflow.web.AxFlowBatchResolver;
+import com.wangguangwu.axflow.web.AxFlowPlan;
+import com.wangguangwu.axflow.web.AxFlowPlanRegistry;
+import com.wangguangwu.axflow.web.AxFlowRejections;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.result.method.annotation.ArgumentResolverConfigurer;
+import org.springframework.web.reactive.result.method.annotation.RequestMappingHandlerMapping;
+
+import java.util.List;
+
+/**
+ * WebFlux 配置：仅在 REACTIVE 应用中生效（spring-webflux 为可选依赖），
+ * 注册租户 WebFilter 与响应式参数解析器。spring-boot-starter-web 是必需依赖，
+ * 因此需显式设置 {@code spring.main.web-application-type=reactive}。
+ *
+ * <p>幂等回放（{@code @AxFlow(idempotent = true)}）目前只有 Servlet 拦截器实现：响应式应用中存在此类方法、
+ * 且未设置 {@code axflow.idempotency.enabled=false} 时拒绝启动，避免重试去重静默失效。</p>
+ *
+ * @author wangguangwu
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass(name = "org.springframework.web.reactive.DispatcherHandler")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class AxFlowWebFluxConfig implements WebFluxConfigurer {
+
+    private final ReactiveAxFlowArgumentResolver argumentResolver;
+
+    public AxFlowWebFluxConfig(AxFlowBinderFactory binderFactory,
+                               AxFlowValidationService validationService,
+                               AxFlowPlanRegistry planRegistry,
+                               AxFlowMetrics metrics,
+                               AxFlowBatchResolver batchResolver,
+                               @Value("${axflow.reactive.max-in-memory-size:262144}") int maxInMemorySize) {
+        this.argumentResolver = new ReactiveAxFlowArgumentResolver(
+                binderFactory, validationService, planRegistry, metrics, batchResolver, maxInMemorySize);
+    }
+
+    @Bean
+    public ReactiveTenantWebFilter reactiveTenantWebFilter(AxFlowRejections rejections) {
+        return new ReactiveTenantWebFilter(rejections);
+    }
+
+    @Bean
+    public SmartInitializingSingleton axflowReactiveIdempotencyGuard(ObjectProvider<RequestMappingHandlerMapping> mappings,
+                                                                     AxFlowPlanRegistry planRegistry,
+                                                                     AxFlowIdempotencyCache idempotencyCache) {
+        return () -> {
+            if (!idempotencyCache.enabled()) {
+                return;
+            }
+            List<String> routes = mappings.orderedStream()
+                    .flatMap(mapping -> mapping.getHandlerMethods().values().stream())
+                    .map(hm -> planRegistry.planOf(hm.getMethod()))
+                    .filter(plan -> plan != null && plan.axFlow().idempotent())
+                    .map(AxFlowPlan::route)
+                    .toList();
+            if (!routes.isEmpty()) {
+                throw new IllegalStateException(("响应式应用不支持 @AxFlow(idempotent = true)（幂等回放仅在 Servlet 栈提供）: %s；"
+                        + "请改用 Servlet 部署，或显式设置 axflow.idempotency.enabled=false").formatted(routes));
+            }
+        };
+    }
+
+    @Override
+    public void configureArgumentResolvers(@NonNull ArgumentResolverConfigurer configurer) {
+        configurer.addCustomResolver(argumentResolver);
+    }
+}
@@ -0,0 +1,251 @@
+package com.wangguangwu.axflow.web.reactive;
+
+import com.wangguangwu.axflow.annotation.AxFlow;
+import com.wangguangwu.axflow.binding.AxFlowBinder;
+import com.wangguangwu.axflow.binding.AxFlowBinderFactory;
+import com.wangguangwu.axflow.binding.AxFlowBodyFormat;
+import com.wangguangwu.axflow.context.TenantContext;
+import com.wangguangwu.axflow.context.TenantId;
+import com.wangguangwu.axflow.metrics.AxFlowMetrics;
+import com.wangguangwu.axflow.validation.AxFlowValidationService;
+import com.wangguangwu.axflow.web.AxFlowBatchResolver;
+import com.wangguangwu.axflow.web.AxFlowPlan;
+import com.wangguangwu.axflow.web.AxFlowPlanRegistry;
+import com.wangguangwu.axflow.web.AxFlowRejectedException;
+import com.wangguangwu.axflow.web.AxFlowRejections;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.NonNull;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.reactive.BindingContext;
+import org.springframework.web.reactive.result.method.HandlerMethodArgumentResolver;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@code AxFlowArgumentResolver} 的响应式对应：非阻塞地聚合 {@link DataBuffer} 请求体，
+ * 然后复用同一套执行计划、Binder、路由表与校验服务完成"租户路由绑定→（可选）统一校验"。
+ *
+ * <ul>
+ *   <li>租户取自 Reactor Context（由 {@link ReactiveTenantWebFilter} 写入），不依赖 ThreadLocal；</li>
+ *   <li>请求体以 {@link DataBufferUtils#join} 聚合（受 {@code axflow.reactive.max-in-memory-size} 限制）；
+ *       流式 Binder 直接读取聚合后的缓冲区，不再复制为 byte[]；</li>
+ *   <li>请求体格式按 Content-Type 识别（JSON / Smile / CBOR）；</li>
+ *   <li>批量参数（List / 数组 / {@code AxFlowStream}）复用 {@link AxFlowBatchResolver}，在聚合后的缓冲区上逐元素读取；
+ *       缓冲区登记在交换属性上，处理方法未遍历或未关闭 {@code AxFlowStream} 时由 {@link ReactiveTenantWebFilter} 在交换结束时释放；</li>
+ *   <li>绑定与校验是同步步骤，执行时临时把租户桥接到 TenantContext，
+ *       以便复用基于 ThreadLocal 的 Binder、校验器与指标；</li>
+ *   <li>可能阻塞的计划不在事件循环上执行：批量参数（分块校验等待并行结果）与启用并发业务校验时的校验
+ *       （等待独立校验器，最长到各自的超时）切换到 {@link Schedulers#boundedElastic()}；其余计划仍在事件循环上直接完成。</li>
+ * </ul>
+ *
+ * @author wangguangwu
+ */
+public class ReactiveAxFlowArgumentResolver implements HandlerMethodArgumentResolver {
+
+    /**
+     * 批量参数聚合缓冲区的交换属性
+     */
+    private static final String BATCH_BODY_ATTRIBUTE = ReactiveAxFlowArgumentResolver.class.getName() + ".batchBody";
+
+    private final AxFlowBinderFactory binderFactory;
+    private final AxFlowValidationService validationService;
+    private final AxFlowPlanRegistry planRegistry;
+    private final AxFlowMetrics metrics;
+    private final AxFlowBatchResolver batchResolver;
+    private final int maxInMemorySize;
+
+    public ReactiveAxFlowArgumentResolver(AxFlowBinderFactory binderFactory,
+                                          AxFlowValidationService validationService,
+                                          AxFlowPlanRegistry planRegistry,
+                                          AxFlowMetrics metrics,
+                                          AxFlowBatchResolver batchResolver,
+                                          int maxInMemorySize) {
+        this.binderFactory = binderFactory;
+        this.validationService = validationService;
+        this.planRegistry = planRegistry;
+        this.metrics = metrics;
+        this.batchResolver = batchResolver;
+        this.maxInMemorySize = maxInMemorySize;
+    }
+
+    @Override
+    public boolean supportsParameter(@NonNull MethodParameter parameter) {
+        AxFlowPlan plan = planRegistry.planOf(parameter);
+        return plan != null && plan.isSelected(parameter.getParameterIndex());
+    }
+
+    @Override
+    public @NonNull Mono<Object> resolveArgument(@NonNull MethodParameter parameter,
+                                                 @NonNull BindingContext bindingContext,
+                                                 @NonNull ServerWebExchange exchange) {
+        AxFlowPlan plan = Objects.requireNonNull(planRegistry.planOf(parameter), "@AxFlow 必须标注在方法上");
+        AxFlow ax = plan.axFlow();
+        AxFlowBodyFormat format = AxFlowBodyFormat.of(exchange.getRequest().getHeaders().getContentType());
+        Scheduler scheduler = mayBlock(plan) ? Schedulers.boundedElastic() : Schedulers.immediate();
+
+        return Mono.deferContextual(ctx -> {
+            TenantId tenant = ReactiveTenantContext.get(ctx);
+            long start = metrics.start();
+            return DataBufferUtils.join(exchange.getRequest().getBody(), maxInMemorySize)
+                    .onErrorMap(DataBufferLimitException.class,
+                            e -> notReadable("请求体超过上限: " + maxInMemorySize + " bytes", exchange))
+                    .filter(buffer -> {
+                        if (buffer.readableByteCount() > 0) {
+                            return true;
+                        }
+                        DataBufferUtils.release(buffer);
+                        return false;
+                    })
+                    .doOnNext(buffer -> metrics.record(AxFlowMetrics.Stage.BODY_READ, plan.baseType(), null, start))
+                    .publishOn(scheduler)
+                    .map(buffer -> TenantContext.callWith(tenant, () -> resolve(parameter, plan, tenant, format, buffer, exchange)))
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                    .switchIfEmpty(Mono.defer(() -> {
+                        if (ax.bodyRequired()) {
+                            return Mono.error(notReadable(AxFlowRejections.EMPTY_BODY_MESSAGE, exchange));
+                        }
+                        return Mono.fromSupplier(() ->
+                                        TenantContext.callWith(tenant, () -> resolve(parameter, plan, tenant, format, null, exchange)))
+                                .subscribeOn(scheduler);
+                    }));
+        });
+    }
+
+    /**
+     * 计划是否可能阻塞调用线程（批量分块校验、并发业务校验都会等待其他线程的结果）。
+     */
+    private boolean mayBlock(AxFlowPlan plan) {
+        return plan.shape().isBatch() || (plan.axFlow().validate() && validationService.mayBlock());
+    }
+
+    /**
+     * 同步步骤：ACL → 绑定 → 校验。缓冲区在此释放。
+     */
+    private Object resolve(MethodParameter parameter, AxFlowPlan plan, TenantId tenant, AxFlowBodyFormat format,
+                           DataBuffer buffer, ServerWebExchange exchange) {
+        final Object value;
+        try {
+            // 解析前调用
+            checkTenantAccess(plan, tenant);
+            AxFlowBinder binder = plan.binder();
+            if (plan.shape().isBatch()) {
+                // 批量参数在已聚合的缓冲区上逐元素读取；缓冲区随流关闭或交换结束释放（以先到者为准）
+                InputStream in = InputStream.nullInputStream();
+                if (buffer != null) {
+                    BatchBody body = new BatchBody(buffer);
+                    exchange.getAttributes().put(BATCH_BODY_ATTRIBUTE, body);
+                    in = body;
+                }
+                buffer = null;
+                return batchResolver.resolve(parameter, plan, format, in);
+            }
+            if (buffer == null) {
+                value = binderFactory.bind(binder, format, InputStream.nullInputStream(), plan.baseType()).value();
+            } else if (binder.bodyMode() == AxFlowBinder.BodyMode.STREAM) {
+                try (InputStream in = buffer.asInputStream(true)) {
+                    buffer = null;
+                    value = binderFactory.bind(binder, format, in, plan.baseType()).value();
+                }
+            } else {
+                byte[] bytes = new byte[buffer.readableByteCount()];
+                buffer.read(bytes);
+                value = binderFactory.bind(binder, format, bytes, plan.baseType()).value();
+            }
+        } catch (IOException e) {
+            throw Exceptions.propagate(e);
+        } finally {
+            if (buffer != null) {
+                DataBufferUtils.release(buffer);
+            }
+        }
+
+        if (plan.axFlow().validate()) {
+            try {
+                validationService.validate(parameter, value, plan.axFlow().groups());
+            } catch (MethodArgumentNotValidException e) {
+                throw Exceptions.propagate(e);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * 交换结束时释放批量参数的聚合缓冲区（处理方法已遍历完或关闭流时为空操作）。
+     */
+    static void releaseBatchBody(ServerWebExchange exchange) {
+        Object body = exchange.getAttributes().remove(BATCH_BODY_ATTRIBUTE);
+        if (body instanceof BatchBody batchBody) {
+            batchBody.release();
+        }
+    }
+
+    /**
+     * 批量参数的请求流：关闭流与交换结束都会尝试释放缓冲区，只有第一次生效，避免重复释放已回收到池中的缓冲区。
+     */
+    private static final class BatchBody extends FilterInputStream {
+
+        private final DataBuffer buffer;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        BatchBody(DataBuffer buffer) {
+            super(buffer.asInputStream(false));
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                release();
+            }
+        }
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                DataBufferUtils.release(buffer);
+            }
+        }
+    }
+
+    /**
+     * 与 Servlet 版本一致的异常类型，便于统一由 GlobalExceptionHandler 转换
+     */
+    private static HttpMessageNotReadableException notReadable(String message, ServerWebExchange exchange) {
+        HttpHeaders headers = exchange.getRequest().getHeaders();
+        return new HttpMessageNotReadableException(message, new HttpInputMessage() {
+            @Override
+            public @NonNull InputStream getBody() {
+                return InputStream.nullInputStream();
+            }
+
+            @Override
+            public @NonNull HttpHeaders getHeaders() {
+                return headers;
+            }
+        });
+    }
+
+    private void checkTenantAccess(AxFlowPlan plan, TenantId tenant) {
+        String reason = plan.acl().rejection(tenant == null ? "" : tenant.value());
+        if (reason != null) {
+            metrics.aclRejected(plan.baseType(), tenant);
+            throw new AxFlowRejectedException(reason, tenant);
+        }
+    }
+}
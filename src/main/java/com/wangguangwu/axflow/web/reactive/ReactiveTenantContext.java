@@ -0,0 +1,41 @@
+package com.wangguangwu.axflow.web.reactive;
+
+import com.wangguangwu.axflow.context.TenantContext;
+import com.wangguangwu.axflow.context.TenantId;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * 响应式环境下的租户上下文：租户保存在 Reactor {@link Context} 中，随订阅链传播，不依赖线程。
+ *
+ * <p>需要调用基于 {@link TenantContext}（ThreadLocal）的同步代码（如 Binder、校验器）时，
+ * 使用 {@link TenantContext#callWith(TenantId, java.util.function.Supplier)} 在当前线程上临时设置并在返回前恢复。</p>
+ *
+ * @author wangguangwu
+ */
+public final class ReactiveTenantContext {
+
+    /**
+     * Reactor Context 中的键
+     */
+    public static final Class<TenantId> KEY = TenantId.class;
+
+    private ReactiveTenantContext() {
+    }
+
+    /**
+     * 当前订阅链上的租户；不存在时为空 Mono。
+     */
+    public static Mono<TenantId> current() {
+        return Mono.deferContextual(ctx -> Mono.justOrEmpty(get(ctx)));
+    }
+
+    public static TenantId get(ContextView ctx) {
+        return ctx.getOrDefault(KEY, null);
+    }
+
+    public static Context with(Context ctx, TenantId tenant) {
+        return ctx.put(KEY, tenant);
+    }
+}
@@ -0,0 +1,51 @@
+package com.wangguangwu.axflow.web.reactive;
+
+import com.wangguangwu.axflow.context.TenantId;
+import com.wangguangwu.axflow.web.AxFlowRejections;
+import com.wangguangwu.axflow.web.TenantInterceptor;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link TenantInterceptor} 的响应式对应：读取租户头写入 Reactor Context；
+ * 缺失时直接写出与 Servlet 版本一致的预序列化错误体。交换结束时释放批量参数未被处理方法读完的请求体缓冲区。
+ *
+ * @author wangguangwu
+ */
+public class ReactiveTenantWebFilter implements WebFilter, Ordered {
+
+    private final AxFlowRejections rejections;
+
+    public ReactiveTenantWebFilter(AxFlowRejections rejections) {
+        this.rejections = rejections;
+    }
+
+    @Override
+    public @NonNull Mono<Void> filter(ServerWebExchange exchange, @NonNull WebFilterChain chain) {
+        String tenantId = exchange.getRequest().getHeaders().getFirst(TenantInterceptor.HEADER_TENANT);
+        if (tenantId == null || tenantId.isBlank()) {
+            ServerHttpResponse response = exchange.getResponse();
+            byte[] body = rejections.missingTenant();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            response.getHeaders().setContentLength(body.length);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        }
+        TenantId tenant = TenantId.of(tenantId);
+        return chain.filter(exchange)
+                .doFinally(signal -> ReactiveAxFlowArgumentResolver.releaseBatchBody(exchange))
+                .contextWrite(ctx -> ReactiveTenantContext.with(ctx, tenant));
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 10;
+    }
+}
@@ -16,6 +16,8 @@ bad(){ printf "\033[31m%s\033[0m\n" "$*"; }
 
 ali()    { printf '{"amount":"%s","sellerId":"%s","appId":"%s"}' "$1" "$2" "$3"; }
 wechat() { printf '{"amount":"%s","mchId":"%s","appId":"%s"}'   "$1" "$2" "$3"; }
+card()   { printf '{"channel":"card","amount":"%s","cardNo":"%s"}'     "$1" "$2"; }
+wallet() { printf '{"channel":"wallet","amount":"%s","walletId":"%s"}' "$1" "$2"; }
 
 # name method path tenant body expect_apiCode
 run_case() {
@@ -86,6 +88,22 @@ run_case "WeChat 校验失败：mchId 与 appId 相同"   POST /payment/submit T
 run_case "WeChat 校验失败：mchId 为空"            POST /payment/submit TenantB "$(wechat 10.00  ""          W-APP-EMPTY)" 400
 run_case "WeChat 校验失败：appId 为空"            POST /payment/submit TenantB "$(wechat 10.00  W-MCH-EMPTY  "")"        400
 
+# 判别字段路由（租户 + channel）
+run_case "refund - TenantA card OK"                POST /refund/submit TenantA "$(card   30.00  6222-0001)"  200
+run_case "refund - TenantA wallet OK"              POST /refund/submit TenantA "$(wallet 30.00  WALLET-001)" 200
+run_case "refund - TenantA wallet 缺少 walletId"   POST /refund/submit TenantA "$(wallet 30.00  "")"         400
+run_case "refund - TenantB wallet 未登记（回退基类）" POST /refund/submit TenantB "$(wallet 30.00  WALLET-002)" 200
+
+# 批量 / 流式（逐元素路由与校验；-d 会去掉换行，NDJSON 以相邻对象形式发送）
+run_case "batch - TenantA 全部通过"               POST /payment/batch  TenantA "[$(ali 10.00 A-SELLER-011 A-APP-011),$(ali 20.00 A-SELLER-012 A-APP-012)]" 200
+run_case "batch - TenantA 第 2 个元素校验失败"     POST /payment/batch  TenantA "[$(ali 10.00 A-SELLER-013 A-APP-013),$(ali 20.00 X-SELLER A-APP-014)]" 400
+run_case "stream - TenantA 失败元素单独收集"       POST /payment/stream TenantA "$(ali 10.00 A-SELLER-015 A-APP-015)$(ali 20.00 X-SELLER A-APP-016)" 200
+
+# 幂等提交（相同请求体重试回放首次结果；失败结果不缓存）
+run_case "charge - TenantA 首次提交"              POST /payment/charge TenantA "$(ali 10.00 A-SELLER-017 A-APP-017)" 200
+run_case "charge - TenantA 重试（回放）"           POST /payment/charge TenantA "$(ali 10.00 A-SELLER-017 A-APP-017)" 200
+run_case "charge - TenantA 校验失败不缓存"         POST /payment/charge TenantA "$(ali 10.00 X-SELLER     A-APP-018)" 400
+
 # 缺少租户头（默认拒绝）
 run_case "缺少租户头（默认拒绝）"                 POST /payment/submit ""     "$(ali   10.00  A-SELLER-010 A-APP-010)" 400
 